@@ -0,0 +1,88 @@
+package benchmarks;
+
+import graph.CSRGraph;
+import graph.Graph;
+import graph.Metrics;
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.ShortestPathResult;
+import graph.scc.CSRTarjanSCC;
+import graph.scc.SCCResult;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnTopologicalSort;
+import graph.topo.TopologicalSortResult;
+import org.openjdk.jmh.annotations.*;
+import utils.ScalableGraphGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the SCC, topological sort and DAG path algorithms on
+ * graphs from {@link ScalableGraphGenerator}. SCC runs on the generated
+ * graph; the DAG algorithms run on its condensation, which is acyclic.
+ *
+ * The graphs have planted SCCs whose edges leave only towards later
+ * components, so the condensation is a DAG with roughly n / (average
+ * component size) vertices and most of the inter-component edges, rather
+ * than the handful of nodes a random graph with back edges collapses to.
+ * A maximum component size of 1 gives a plain DAG.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// The recursive TarjanSCC needs a deep stack, and the 10M-vertex adjacency lists a large heap
+@Fork(value = 1, jvmArgsAppend = {"-Xss1g", "-Xmx12g"})
+public class GraphAlgorithmBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int vertices;
+
+    @Param({"2", "8"})
+    public int averageDegree;
+
+    @Param({"1", "16"})
+    public int maxComponentSize;
+
+    private Graph graph;
+    private CSRGraph csrGraph;
+    private Graph condensation;
+    private int sourceComponent;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Component sizes uniform on [1, maxComponentSize]
+        csrGraph = ScalableGraphGenerator.plantedScc(vertices, maxComponentSize, 0.0, averageDegree, 42L).generate();
+        graph = csrGraph.toGraph();
+
+        SCCResult scc = new CSRTarjanSCC(csrGraph, Metrics.NOOP).findSCCs();
+        condensation = scc.condensationGraph;
+        sourceComponent = scc.componentId[0];
+    }
+
+    @Benchmark
+    public SCCResult tarjanSCC() {
+        return new TarjanSCC(graph, Metrics.NOOP).findSCCs();
+    }
+
+    @Benchmark
+    public SCCResult iterativeTarjanSCC() {
+        return new CSRTarjanSCC(csrGraph, Metrics.NOOP).findSCCs();
+    }
+
+    @Benchmark
+    public TopologicalSortResult kahnTopologicalSort() {
+        return new KahnTopologicalSort(condensation, Metrics.NOOP).topologicalSort();
+    }
+
+    @Benchmark
+    public ShortestPathResult dagShortestPath() {
+        return new DAGShortestPath(condensation, Metrics.NOOP).shortestPath(sourceComponent);
+    }
+
+    @Benchmark
+    public CriticalPathResult criticalPath() {
+        return new DAGShortestPath(condensation, Metrics.NOOP).findCriticalPath();
+    }
+}
@@ -0,0 +1,339 @@
+package graph;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary graph format, read through memory mapping.
+ *
+ * <pre>
+ * header:  magic "SCGB" | version | flags | n | m | source | weight model length | weight model (UTF-8)
+ *          padded to a multiple of 8 bytes, all ints little-endian
+ * offsets: (n + 1) ints
+ * targets: m ints, padded to a multiple of 8 bytes
+ * weights: m doubles
+ * </pre>
+ */
+public class BinaryGraphFile {
+    public static final int MAGIC = 0x53434742; // "SCGB"
+    public static final int VERSION = 1;
+    public static final int FLAG_DIRECTED = 1;
+
+    private static final int FIXED_HEADER_BYTES = 7 * Integer.BYTES;
+    // A multiple of 8, so the buffer position and the file offset agree modulo 8 when padding
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    /**
+     * Writes the graph and its metadata to the given path, replacing any existing file.
+     */
+    public static void write(LoadedGraph loaded, Path path) throws IOException {
+        write(loaded.graph, loaded.directed, loaded.source, loaded.weightModel, path);
+    }
+
+    public static void write(CSRGraph graph, boolean directed, int source, String weightModel,
+                             Path path) throws IOException {
+        byte[] model = weightModel == null ? new byte[0] : weightModel.getBytes(StandardCharsets.UTF_8);
+        int m = graph.edgeCount();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(directed ? FLAG_DIRECTED : 0)
+                    .putInt(graph.n).putInt(m).putInt(source).putInt(model.length).put(model);
+            pad(buffer);
+
+            writeInts(channel, buffer, graph.offsets, graph.n + 1);
+            writeInts(channel, buffer, graph.targets, m);
+            pad(buffer);
+            writeDoubles(channel, buffer, graph.weights, m);
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Opens a writer that receives the graph a block of vertices at a time,
+     * for graphs too large to build in memory first. The vertex count must be
+     * known up front; the edge count is filled in when the writer is closed.
+     */
+    public static StreamWriter openWriter(Path path, int n, boolean directed, int source,
+                                          String weightModel) throws IOException {
+        return new StreamWriter(path, n, directed, source, weightModel);
+    }
+
+    /**
+     * Writes offsets and targets straight to their final positions, which
+     * only depend on n and the header. The weight section starts after all
+     * targets, so weights are spooled to a temporary file next to the output
+     * and appended on close. Memory use is two buffers regardless of graph size.
+     */
+    public static final class StreamWriter implements Closeable {
+        private final Path path;
+        private final Path weightsPath;
+        private final FileChannel channel;
+        private final FileChannel weightsChannel;
+        private final int n;
+        private final ByteBuffer header;
+        private final Section offsets;
+        private final Section targets;
+        private final Section weights;
+        private final long targetsStart;
+        private int vertices;
+        private long edges;
+
+        private StreamWriter(Path path, int n, boolean directed, int source, String weightModel) throws IOException {
+            if (n < 0 || n == Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid vertex count: " + n);
+            }
+            byte[] model = weightModel == null ? new byte[0] : weightModel.getBytes(StandardCharsets.UTF_8);
+            this.path = path;
+            this.weightsPath = path.resolveSibling(path.getFileName() + ".weights.tmp");
+            this.n = n;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.weightsChannel = FileChannel.open(weightsPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            header = ByteBuffer.allocate(FIXED_HEADER_BYTES + model.length).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(directed ? FLAG_DIRECTED : 0)
+                    .putInt(n).putInt(0).putInt(source).putInt(model.length).put(model);
+            long offsetsStart = align(header.capacity());
+            targetsStart = offsetsStart + (long) (n + 1) * Integer.BYTES;
+            offsets = new Section(channel, offsetsStart, CHUNK_BYTES / 4);
+            targets = new Section(channel, targetsStart, CHUNK_BYTES);
+            weights = new Section(weightsChannel, 0, CHUNK_BYTES);
+            offsets.putInt(0);
+        }
+
+        /**
+         * Appends the next vertices: degrees[i] out-edges for each, whose
+         * targets and weights follow each other in the given arrays.
+         */
+        public void append(int[] degrees, int vertexCount, int[] edgeTargets, double[] edgeWeights) throws IOException {
+            if (vertices + vertexCount > n) {
+                throw new IllegalStateException("More than " + n + " vertices appended");
+            }
+            int e = 0;
+            for (int i = 0; i < vertexCount; i++) {
+                for (int end = e + degrees[i]; e < end; e++) {
+                    targets.putInt(edgeTargets[e]);
+                    weights.putDouble(edgeWeights[e]);
+                }
+                edges += degrees[i];
+                if (edges > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Graph exceeds the CSR edge limit");
+                }
+                offsets.putInt((int) edges);
+            }
+            vertices += vertexCount;
+        }
+
+        public long edgeCount() {
+            return edges;
+        }
+
+        /**
+         * Completes the file: header with the edge count, then the spooled weights.
+         */
+        @Override
+        public void close() throws IOException {
+            try (FileChannel main = channel; FileChannel spool = weightsChannel) {
+                if (vertices != n) {
+                    throw new IllegalStateException("Expected " + n + " vertices, got " + vertices);
+                }
+                offsets.flush();
+                targets.flush();
+                weights.flush();
+
+                header.putInt(4 * Integer.BYTES, (int) edges).flip();
+                while (header.hasRemaining()) {
+                    main.write(header, header.position());
+                }
+                long targetsEnd = targetsStart + edges * Integer.BYTES;
+                long weightsStart = align(targetsEnd);
+                ByteBuffer padding = ByteBuffer.allocate((int) (weightsStart - targetsEnd));
+                while (padding.hasRemaining()) {
+                    main.write(padding, targetsEnd + padding.position());
+                }
+                long size = spool.size();
+                for (long copied = 0; copied < size; ) {
+                    copied += spool.transferTo(copied, size - copied, main.position(weightsStart + copied));
+                }
+            } finally {
+                Files.deleteIfExists(weightsPath);
+            }
+        }
+    }
+
+    /**
+     * Buffered little-endian output to consecutive positions of a channel.
+     */
+    private static final class Section {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long position;
+
+        Section(FileChannel channel, long position, int bufferBytes) {
+            this.channel = channel;
+            this.position = position;
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            if (buffer.remaining() < Double.BYTES) {
+                flush();
+            }
+            buffer.putDouble(value);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Maps the file read-only. The returned graph stays valid after this
+     * method returns; the mapping is released when it is garbage collected.
+     */
+    public static MappedGraph map(Path path) throws IOException {
+        return map(path, MappedGraph.CHUNK_SHIFT);
+    }
+
+    /**
+     * Maps the file with sections split into chunks of 2^chunkShift ints
+     * (2^(chunkShift - 1) doubles), so that no mapping reaches the 2 GB
+     * limit of a single buffer.
+     */
+    static MappedGraph map(Path path, int chunkShift) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.read(header, 0) != FIXED_HEADER_BYTES) {
+                throw new IOException("File is too short for a graph header: " + path);
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a binary graph file: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary graph version " + version + ": " + path);
+            }
+            int flags = header.getInt();
+            int n = header.getInt();
+            int m = header.getInt();
+            int source = header.getInt();
+            int modelLength = header.getInt();
+            if (n < 0 || n == Integer.MAX_VALUE || m < 0 || modelLength < 0
+                    || FIXED_HEADER_BYTES + (long) modelLength > size) {
+                throw new IOException("Corrupt binary graph header (n=" + n + ", m=" + m
+                        + ", weight model length=" + modelLength + "): " + path);
+            }
+
+            ByteBuffer model = ByteBuffer.allocate(modelLength);
+            channel.read(model, FIXED_HEADER_BYTES);
+            String weightModel = modelLength == 0 ? null : new String(model.array(), StandardCharsets.UTF_8);
+
+            long offsetsStart = align(FIXED_HEADER_BYTES + modelLength);
+            long targetsStart = offsetsStart + (long) (n + 1) * Integer.BYTES;
+            long weightsStart = align(targetsStart + (long) m * Integer.BYTES);
+            long end = weightsStart + (long) m * Double.BYTES;
+            if (size < end) {
+                throw new IOException("Binary graph file is truncated: " + path);
+            }
+
+            IntBuffer[] offsets = mapInts(channel, offsetsStart, n + 1, chunkShift);
+            IntBuffer[] targets = mapInts(channel, targetsStart, m, chunkShift);
+            DoubleBuffer[] weights = mapDoubles(channel, weightsStart, m, chunkShift - 1);
+            MappedGraph graph = new MappedGraph(n, (flags & FLAG_DIRECTED) != 0, source, weightModel,
+                    chunkShift, offsets, targets, weights);
+            if (graph.edgeStart(0) != 0 || graph.edgeCount() != m) {
+                throw new IOException("Binary graph offsets do not span " + m + " edges (offsets[0]="
+                        + graph.edgeStart(0) + ", offsets[n]=" + graph.edgeCount() + "): " + path);
+            }
+            return graph;
+        }
+    }
+
+    private static IntBuffer[] mapInts(FileChannel channel, long position, int count, int chunkShift) throws IOException {
+        int chunk = 1 << chunkShift;
+        IntBuffer[] chunks = new IntBuffer[Math.max(1, (int) (((long) count + chunk - 1) >>> chunkShift))];
+        for (int i = 0; i < chunks.length; i++) {
+            long first = (long) i << chunkShift;
+            long length = Math.min(chunk, count - first);
+            chunks[i] = mapSection(channel, position + first * Integer.BYTES, length * Integer.BYTES).asIntBuffer();
+        }
+        return chunks;
+    }
+
+    private static DoubleBuffer[] mapDoubles(FileChannel channel, long position, int count, int chunkShift) throws IOException {
+        int chunk = 1 << chunkShift;
+        DoubleBuffer[] chunks = new DoubleBuffer[Math.max(1, (int) (((long) count + chunk - 1) >>> chunkShift))];
+        for (int i = 0; i < chunks.length; i++) {
+            long first = (long) i << chunkShift;
+            long length = Math.min(chunk, count - first);
+            chunks[i] = mapSection(channel, position + first * Double.BYTES, length * Double.BYTES).asDoubleBuffer();
+        }
+        return chunks;
+    }
+
+    private static ByteBuffer mapSection(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static void pad(ByteBuffer buffer) {
+        while (buffer.position() % 8 != 0) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush(channel, buffer);
+            }
+            buffer.putInt(values[i]);
+        }
+    }
+
+    private static void writeDoubles(FileChannel channel, ByteBuffer buffer, double[] values, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            if (buffer.remaining() < Double.BYTES) {
+                flush(channel, buffer);
+            }
+            buffer.putDouble(values[i]);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,199 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Immutable directed graph in compressed sparse row (CSR) form.
+ * The out-edges of vertex u occupy indices offsets[u] .. offsets[u + 1] - 1
+ * of the targets and weights arrays. The arrays are shared, not copied,
+ * and must not be modified once the graph is built.
+ */
+public class CSRGraph {
+    public final int n; // number of vertices
+    public final int[] offsets; // length n + 1
+    public final int[] targets; // edge -> head vertex
+    public final double[] weights; // edge -> weight
+    private volatile InEdgeIndex incoming;
+
+    public CSRGraph(int n, int[] offsets, int[] targets, double[] weights) {
+        if (offsets.length != n + 1) {
+            throw new IllegalArgumentException("Offsets array must have length n + 1");
+        }
+        if (targets.length < offsets[n] || weights.length < offsets[n]) {
+            throw new IllegalArgumentException("Edge arrays are shorter than offsets[n]");
+        }
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds a CSR copy of the given adjacency-list graph, keeping edge order
+     * per vertex. If the graph has already built its in-edge index, the copy
+     * shares it instead of building its own.
+     */
+    public static CSRGraph fromGraph(Graph graph) {
+        int n = graph.n;
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + graph.getEdges(u).size();
+        }
+
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        int e = 0;
+        for (int u = 0; u < n; u++) {
+            for (Edge edge : graph.getEdges(u)) {
+                targets[e] = edge.v;
+                weights[e] = edge.w;
+                e++;
+            }
+        }
+        CSRGraph csr = new CSRGraph(n, offsets, targets, weights);
+        csr.incoming = graph.cachedIncoming();
+        return csr;
+    }
+
+    /**
+     * Same as {@link #fromGraph}, but builds the graph's in-edge index first,
+     * for algorithms that walk edges backwards. Repeated calls on an unchanged
+     * graph share that one index.
+     */
+    public static CSRGraph fromGraphWithIncoming(Graph graph) {
+        graph.incoming();
+        return fromGraph(graph);
+    }
+
+    /**
+     * Returns the total number of edges.
+     */
+    public int edgeCount() {
+        return offsets[n];
+    }
+
+    /**
+     * Returns the number of out-edges of vertex u.
+     */
+    public int outDegree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    /**
+     * Returns the in-edge index, building it on first use. Later calls return
+     * the cached index, so backward traversals share one copy.
+     */
+    public InEdgeIndex incoming() {
+        InEdgeIndex index = incoming;
+        if (index == null) {
+            index = new InEdgeIndex(this);
+            incoming = index; // Racing callers build equal indexes; any one may win
+        }
+        return index;
+    }
+
+    /**
+     * Returns the in-edges of vertex v in O(1), building the in-edge index if needed.
+     */
+    public InEdgeIndex.Range getIncoming(int v) {
+        return incoming().getIncoming(v);
+    }
+
+    /**
+     * Returns the number of in-edges of vertex v, building the in-edge index if needed.
+     */
+    public int inDegree(int v) {
+        return incoming().inDegree(v);
+    }
+
+    /**
+     * Creates the CSR graph with every edge reversed. Prefer {@link #incoming()}
+     * for traversals; this copies the weights into a standalone graph.
+     */
+    public CSRGraph transpose() {
+        InEdgeIndex index = incoming();
+        int m = edgeCount();
+        double[] reverseWeights = new double[m];
+        for (int i = 0; i < m; i++) {
+            reverseWeights[i] = weights[index.edgeIds[i]];
+        }
+        return new CSRGraph(n, index.offsets.clone(), index.sources.clone(), reverseWeights);
+    }
+
+    /**
+     * Creates an adjacency-list copy of this graph.
+     */
+    public Graph toGraph() {
+        Graph graph = new Graph(n, true);
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                graph.addEdge(u, targets[e], weights[e]);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Collects edges in arrival order into primitive buffers and sorts them
+     * into CSR form with a stable counting sort, so per-vertex edge order is kept.
+     */
+    public static class Builder {
+        private int[] sources;
+        private int[] targets;
+        private double[] weights;
+        private int size;
+
+        public Builder() {
+            this(16);
+        }
+
+        public Builder(int expectedEdges) {
+            int capacity = Math.max(expectedEdges, 16);
+            sources = new int[capacity];
+            targets = new int[capacity];
+            weights = new double[capacity];
+        }
+
+        public void addEdge(int u, int v, double w) {
+            if (size == sources.length) {
+                int capacity = sources.length + (sources.length >> 1);
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            sources[size] = u;
+            targets[size] = v;
+            weights[size] = w;
+            size++;
+        }
+
+        public int edgeCount() {
+            return size;
+        }
+
+        public CSRGraph build(int n) {
+            int[] offsets = new int[n + 1];
+            for (int e = 0; e < size; e++) {
+                int u = sources[e];
+                int v = targets[e];
+                if (u < 0 || u >= n || v < 0 || v >= n) {
+                    throw new IllegalArgumentException("Edge (" + u + " -> " + v + ") is outside 0.." + (n - 1));
+                }
+                offsets[u + 1]++;
+            }
+            for (int u = 0; u < n; u++) {
+                offsets[u + 1] += offsets[u];
+            }
+
+            int[] cursor = Arrays.copyOf(offsets, n);
+            int[] sortedTargets = new int[size];
+            double[] sortedWeights = new double[size];
+            for (int e = 0; e < size; e++) {
+                int slot = cursor[sources[e]]++;
+                sortedTargets[slot] = targets[e];
+                sortedWeights[slot] = weights[e];
+            }
+            return new CSRGraph(n, offsets, sortedTargets, sortedWeights);
+        }
+    }
+}
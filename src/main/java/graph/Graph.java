@@ -4,19 +4,28 @@ import java.util.*;
 
 /**
  * Represents a directed graph using an adjacency list.
+ * The adjacency lists are read-only views; {@link #addEdge} is the only way
+ * to add edges, so the incoming-edge index, built on first use and cached on
+ * the graph, is always dropped when the graph changes.
  */
 public class Graph {
     public final int n; // number of vertices
-    public final List<List<Edge>> adj; // adjacency list
+    public final List<List<Edge>> adj; // adjacency list, read-only
+    private final List<List<Edge>> out; // the mutable lists behind adj
     private final boolean weighted;
+    private volatile InEdgeIndex incoming; // null until requested or after a mutation
 
     public Graph(int n, boolean weighted) {
         this.n = n;
         this.weighted = weighted;
-        this.adj = new ArrayList<>();
+        this.out = new ArrayList<>(n);
+        List<List<Edge>> views = new ArrayList<>(n);
         for (int i = 0; i < n; i++) {
-            adj.add(new ArrayList<>());
+            List<Edge> edges = new ArrayList<>();
+            out.add(edges);
+            views.add(Collections.unmodifiableList(edges));
         }
+        this.adj = Collections.unmodifiableList(views);
     }
 
     /**
@@ -26,7 +35,8 @@ public class Graph {
         if (!weighted && w != 1.0) {
             throw new IllegalArgumentException("Unweighted graph must have weight 1.0");
         }
-        adj.get(u).add(new Edge(u, v, w));
+        out.get(u).add(new Edge(u, v, w));
+        incoming = null;
     }
 
     /**
@@ -43,6 +53,56 @@ public class Graph {
         return adj.get(u);
     }
 
+    /**
+     * Gets all edges into node v in O(1), in order of their source vertex. The
+     * list is a read-only view over the cached in-edge index and returns the
+     * Edge objects of the out-lists; it is valid until the next addEdge.
+     */
+    public List<Edge> getIncoming(int v) {
+        InEdgeIndex index = incoming();
+        InEdgeIndex.Range range = index.getIncoming(v);
+        return new AbstractList<Edge>() {
+            @Override
+            public Edge get(int i) {
+                int source = range.source(i);
+                return out.get(source).get(range.edgeId(i) - index.outOffsets[source]);
+            }
+
+            @Override
+            public int size() {
+                return range.size();
+            }
+        };
+    }
+
+    /**
+     * Returns the number of edges into node v.
+     */
+    public int inDegree(int v) {
+        return incoming().inDegree(v);
+    }
+
+    /**
+     * Returns the in-edge index, building it on first use. It is cached until
+     * the next addEdge, so backward traversals share one copy; its edge IDs
+     * match those of {@link CSRGraph#fromGraph}.
+     */
+    public InEdgeIndex incoming() {
+        InEdgeIndex index = incoming;
+        if (index == null) {
+            index = new InEdgeIndex(this);
+            incoming = index; // Racing callers build equal indexes; any one may win
+        }
+        return index;
+    }
+
+    /**
+     * Returns the in-edge index if it has been built, otherwise null.
+     */
+    InEdgeIndex cachedIncoming() {
+        return incoming;
+    }
+
     /**
      * Gets all edges in the graph.
      */
@@ -55,15 +115,16 @@ public class Graph {
     }
 
     /**
-     * Creates a reversed copy of this graph.
+     * Creates a reversed copy of this graph. Allocates a new graph and new
+     * edges on every call; use {@link #getIncoming} to walk edges backwards.
      */
     public Graph reverse() {
         Graph reversed = new Graph(n, weighted);
         for (int u = 0; u < n; u++) {
-            for (Edge e : adj.get(u)) {
+            for (Edge e : out.get(u)) {
                 reversed.addEdge(e.v, e.u, e.w);
             }
         }
         return reversed;
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,18 @@
 package graph;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Utility class for loading graph data from JSON files.
  */
 public class GraphLoader {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
     public static Graph loadFromJson(String filePath) throws IOException {
         ObjectMapper mapper = new ObjectMapper();
@@ -33,4 +38,106 @@ public class GraphLoader {
         ObjectMapper mapper = new ObjectMapper();
         return mapper.readValue(new File(filePath), GraphData.class);
     }
-}
\ No newline at end of file
+
+    /**
+     * Loads a graph file by extension: ".bin" files are read as
+     * {@link BinaryGraphFile}, anything else as JSON with {@link #loadStreaming}.
+     */
+    public static LoadedGraph load(String filePath) throws IOException {
+        if (filePath.endsWith(".bin")) {
+            return BinaryGraphFile.map(Path.of(filePath)).toLoadedGraph();
+        }
+        return loadStreaming(filePath);
+    }
+
+    /**
+     * Parses a graph file in one pass with Jackson's token stream. Edges go
+     * straight into a CSR builder, so no GraphData or Edge objects are created.
+     * Fields may appear in any order; unknown fields are skipped.
+     */
+    public static LoadedGraph loadStreaming(String filePath) throws IOException {
+        boolean directed = false;
+        int n = -1;
+        int source = 0;
+        String weightModel = null;
+        CSRGraph.Builder builder = new CSRGraph.Builder();
+
+        try (JsonParser parser = JSON_FACTORY.createParser(new File(filePath))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object at the top level of " + filePath);
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "directed":
+                        directed = parser.getValueAsBoolean();
+                        break;
+                    case "n":
+                        n = parser.getIntValue();
+                        break;
+                    case "source":
+                        source = parser.getIntValue();
+                        break;
+                    case "weight_model":
+                        weightModel = parser.getValueAsString();
+                        break;
+                    case "edges":
+                        if (value != JsonToken.START_ARRAY) {
+                            throw new IOException("Field 'edges' must be an array in " + filePath);
+                        }
+                        readEdges(parser, builder, filePath);
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+            if (token != JsonToken.END_OBJECT) {
+                throw new IOException("Unexpected " + token + " at " + parser.getCurrentLocation() + " in " + filePath);
+            }
+        }
+
+        if (n <= 0) {
+            throw new IllegalArgumentException("Number of vertices must be positive");
+        }
+        return new LoadedGraph(builder.build(n), directed, source, weightModel);
+    }
+
+    private static void readEdges(JsonParser parser, CSRGraph.Builder builder, String filePath) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Each edge must be an object with 'u', 'v' and 'w', found " + token
+                        + " at " + parser.getCurrentLocation() + " in " + filePath);
+            }
+            int u = -1;
+            int v = -1;
+            double w = 0.0; // same default as GraphData
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "u":
+                        u = parser.getIntValue();
+                        break;
+                    case "v":
+                        v = parser.getIntValue();
+                        break;
+                    case "w":
+                        w = parser.getDoubleValue();
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+            if (u < 0 || v < 0) {
+                throw new IOException("Edge is missing '" + (u < 0 ? "u" : "v") + "' or has a negative endpoint at "
+                        + parser.getCurrentLocation() + " in " + filePath);
+            }
+            builder.addEdge(u, v, w);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package graph;
+
+/**
+ * Immutable version of a graph published by {@link VersionedGraph}.
+ *
+ * Each version is one full CSR copy of the graph, built by the writer when
+ * it publishes. Later versions never touch it, so a snapshot never changes
+ * once readers hold it, and readers run the CSR algorithm overloads on it
+ * without building anything. A version's arrays stay alive for as long as
+ * some reader still holds it.
+ */
+public final class GraphSnapshot {
+    public final long version;
+    public final int n;
+    private final CSRGraph csr;
+
+    GraphSnapshot(long version, CSRGraph csr) {
+        this.version = version;
+        this.n = csr.n;
+        this.csr = csr;
+    }
+
+    public int edgeCount() {
+        return csr.edgeCount();
+    }
+
+    public int outDegree(int u) {
+        return csr.outDegree(u);
+    }
+
+    /**
+     * Returns the head of the i-th out-edge of u.
+     */
+    public int target(int u, int i) {
+        return csr.targets[csr.offsets[u] + i];
+    }
+
+    /**
+     * Returns the weight of the i-th out-edge of u.
+     */
+    public double weight(int u, int i) {
+        return csr.weights[csr.offsets[u] + i];
+    }
+
+    /**
+     * Returns this version as a CSR graph. Nothing is copied; the graph was
+     * built when the version was published.
+     */
+    public CSRGraph toCSR() {
+        return csr;
+    }
+
+    /**
+     * Creates an adjacency-list copy of this version.
+     */
+    public Graph toGraph() {
+        return csr.toGraph();
+    }
+}
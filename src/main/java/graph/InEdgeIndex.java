@@ -0,0 +1,131 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Incoming edges of a graph in CSR form. The in-edges of vertex v occupy
+ * indices offsets[v] .. offsets[v + 1] - 1; for each, sources holds the tail
+ * vertex and edgeIds the index of the same edge in the forward CSR layout
+ * (out-edges of vertex 0 first, each vertex in its own edge order), so
+ * weights are not duplicated and an in-edge can be matched to its out-edge.
+ * Within a vertex, in-edges are ordered by edge ID.
+ *
+ * Built once per graph by {@link CSRGraph#incoming()} or
+ * {@link Graph#incoming()} and shared by every backward traversal.
+ */
+public class InEdgeIndex {
+    public final int n; // number of vertices
+    public final int[] offsets; // length n + 1
+    public final int[] sources; // in-edge -> tail vertex
+    public final int[] edgeIds; // in-edge -> forward edge index
+    public final int[] outOffsets; // tail vertex -> its first forward edge index
+
+    InEdgeIndex(CSRGraph graph) {
+        int n = graph.n;
+        int m = graph.edgeCount();
+        int[] targets = graph.targets;
+        offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[targets[e] + 1]++;
+        }
+        prefixSum(offsets);
+
+        int[] cursor = Arrays.copyOf(offsets, n);
+        sources = new int[m];
+        edgeIds = new int[m];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+                int slot = cursor[targets[e]]++;
+                sources[slot] = u;
+                edgeIds[slot] = e;
+            }
+        }
+        this.n = n;
+        this.outOffsets = graph.offsets;
+    }
+
+    /**
+     * Indexes an adjacency-list graph directly, without a forward CSR copy.
+     * Edge IDs are the ones {@link CSRGraph#fromGraph} assigns.
+     */
+    InEdgeIndex(Graph graph) {
+        int n = graph.n;
+        offsets = new int[n + 1];
+        outOffsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            List<Edge> edges = graph.getEdges(u);
+            outOffsets[u + 1] = outOffsets[u] + edges.size();
+            for (Edge edge : edges) {
+                offsets[edge.v + 1]++;
+            }
+        }
+        prefixSum(offsets);
+
+        int m = outOffsets[n];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        sources = new int[m];
+        edgeIds = new int[m];
+        for (int u = 0; u < n; u++) {
+            int e = outOffsets[u];
+            for (Edge edge : graph.getEdges(u)) {
+                int slot = cursor[edge.v]++;
+                sources[slot] = u;
+                edgeIds[slot] = e++;
+            }
+        }
+        this.n = n;
+    }
+
+    /**
+     * Returns the number of in-edges of vertex v.
+     */
+    public int inDegree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Returns the in-edges of vertex v in O(1); the range is a view, nothing is copied.
+     */
+    public Range getIncoming(int v) {
+        return new Range(this, offsets[v], offsets[v + 1]);
+    }
+
+    private static void prefixSum(int[] counts) {
+        for (int i = 1; i < counts.length; i++) {
+            counts[i] += counts[i - 1];
+        }
+    }
+
+    /**
+     * The in-edges of one vertex, as a range of slots of the index.
+     */
+    public static final class Range {
+        private final InEdgeIndex index;
+        public final int start; // first slot
+        public final int end; // one past the last slot
+
+        Range(InEdgeIndex index, int start, int end) {
+            this.index = index;
+            this.start = start;
+            this.end = end;
+        }
+
+        public int size() {
+            return end - start;
+        }
+
+        /**
+         * Returns the tail vertex of the i-th in-edge.
+         */
+        public int source(int i) {
+            return index.sources[start + i];
+        }
+
+        /**
+         * Returns the forward edge index of the i-th in-edge.
+         */
+        public int edgeId(int i) {
+            return index.edgeIds[start + i];
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package graph;
+
+/**
+ * A graph read from a file together with the metadata stored next to it.
+ */
+public class LoadedGraph {
+    public final CSRGraph graph;
+    public final boolean directed;
+    public final int source;
+    public final String weightModel;
+
+    public LoadedGraph(CSRGraph graph, boolean directed, int source, String weightModel) {
+        this.graph = graph;
+        this.directed = directed;
+        this.source = source;
+        this.weightModel = weightModel;
+    }
+}
@@ -0,0 +1,111 @@
+package graph;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Read-only CSR graph backed by a memory-mapped {@link BinaryGraphFile}.
+ * The offset, target and weight sections are views over the mapped file;
+ * nothing is copied until {@link #toCSR()} is called.
+ */
+public class MappedGraph {
+    public final int n;
+    public final boolean directed;
+    public final int source;
+    public final String weightModel;
+    // Sections are split into chunks; an int chunk holds 2^shift ints and a double chunk half as many
+    static final int CHUNK_SHIFT = 28; // 1 GB per chunk
+    private final int intShift;
+    private final int intMask;
+    private final int doubleShift;
+    private final int doubleMask;
+    private final IntBuffer[] offsets;
+    private final IntBuffer[] targets;
+    private final DoubleBuffer[] weights;
+
+    MappedGraph(int n, boolean directed, int source, String weightModel, int chunkShift,
+                IntBuffer[] offsets, IntBuffer[] targets, DoubleBuffer[] weights) {
+        this.n = n;
+        this.directed = directed;
+        this.source = source;
+        this.weightModel = weightModel;
+        this.intShift = chunkShift;
+        this.intMask = (1 << chunkShift) - 1;
+        this.doubleShift = chunkShift - 1;
+        this.doubleMask = (1 << doubleShift) - 1;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public int edgeCount() {
+        return offset(n);
+    }
+
+    /**
+     * Returns the index of the first out-edge of vertex u.
+     */
+    public int edgeStart(int u) {
+        return offset(u);
+    }
+
+    /**
+     * Returns one past the index of the last out-edge of vertex u.
+     */
+    public int edgeEnd(int u) {
+        return offset(u + 1);
+    }
+
+    public int outDegree(int u) {
+        return offset(u + 1) - offset(u);
+    }
+
+    public int target(int edge) {
+        return targets[edge >>> intShift].get(edge & intMask);
+    }
+
+    public double weight(int edge) {
+        return weights[edge >>> doubleShift].get(edge & doubleMask);
+    }
+
+    private int offset(int u) {
+        return offsets[u >>> intShift].get(u & intMask);
+    }
+
+    /**
+     * Copies the mapped sections into a heap {@link CSRGraph} with one bulk read per chunk.
+     */
+    public CSRGraph toCSR() {
+        int m = edgeCount();
+        int[] offsetArray = new int[n + 1];
+        int[] targetArray = new int[m];
+        double[] weightArray = new double[m];
+        copy(offsets, offsetArray);
+        copy(targets, targetArray);
+        int position = 0;
+        for (DoubleBuffer chunk : weights) {
+            DoubleBuffer source = chunk.duplicate();
+            int length = Math.min(source.remaining(), m - position);
+            source.get(weightArray, position, length);
+            position += length;
+        }
+        return new CSRGraph(n, offsetArray, targetArray, weightArray);
+    }
+
+    private static void copy(IntBuffer[] chunks, int[] target) {
+        int position = 0;
+        for (IntBuffer chunk : chunks) {
+            IntBuffer source = chunk.duplicate();
+            int length = Math.min(source.remaining(), target.length - position);
+            source.get(target, position, length);
+            position += length;
+        }
+    }
+
+    /**
+     * Copies the graph to the heap along with its metadata.
+     */
+    public LoadedGraph toLoadedGraph() {
+        return new LoadedGraph(toCSR(), directed, source, weightModel);
+    }
+}
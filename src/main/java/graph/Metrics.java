@@ -1,16 +1,36 @@
 package graph;
 
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Utility class to track algorithm performance metrics.
+ *
+ * Counters are 64-bit {@link LongAdder}s, safe to share between threads.
+ * Algorithms count into local variables inside their loops and add the
+ * totals once, so instrumentation costs nothing per edge. Every
+ * startTimer/stopTimer pair is also recorded in a latency histogram, and
+ * named phases get their own histograms, so repeated runs accumulate
+ * distributions rather than overwriting one number. Use {@link #NOOP} to
+ * switch all of it off.
  */
 public class Metrics {
+    /**
+     * Metrics that record nothing. Every method is empty, so calls inline away.
+     */
+    public static final Metrics NOOP = new NoOpMetrics();
+
     private long startTime;
     private long endTime;
 
     // Counters for different operations
-    public int dfsVisits;
-    public int edgeRelaxations;
-    public int queueOperations;
+    private final LongAdder dfsVisits = new LongAdder();
+    private final LongAdder edgeRelaxations = new LongAdder();
+    private final LongAdder queueOperations = new LongAdder();
+
+    private final LatencyHistogram runTimes = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> phases = new ConcurrentHashMap<>();
 
     public void startTimer() {
         startTime = System.nanoTime();
@@ -18,23 +38,123 @@ public class Metrics {
 
     public void stopTimer() {
         endTime = System.nanoTime();
+        runTimes.record(endTime - startTime);
     }
 
+    /**
+     * Returns the duration of the last startTimer/stopTimer pair.
+     */
     public long getElapsedTime() {
         return endTime - startTime;
     }
 
+    /**
+     * Returns the durations of all startTimer/stopTimer pairs since the last reset.
+     */
+    public LatencyHistogram getRunTimes() {
+        return runTimes;
+    }
+
+    /**
+     * Returns a start token for {@link #endPhase(String, long)}.
+     */
+    public long startPhase() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time since the start token in the histogram of the named phase.
+     */
+    public void endPhase(String phase, long start) {
+        phases.computeIfAbsent(phase, name -> new LatencyHistogram()).record(System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the histogram of a phase, or null if it was never recorded.
+     */
+    public LatencyHistogram getPhase(String phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * Returns the recorded phases by name.
+     */
+    public Map<String, LatencyHistogram> getPhases() {
+        return Collections.unmodifiableMap(new TreeMap<>(phases));
+    }
+
+    public void addDfsVisits(long count) {
+        dfsVisits.add(count);
+    }
+
+    public void addEdgeRelaxations(long count) {
+        edgeRelaxations.add(count);
+    }
+
+    public void addQueueOperations(long count) {
+        queueOperations.add(count);
+    }
+
+    public long getDfsVisits() {
+        return dfsVisits.sum();
+    }
+
+    public long getEdgeRelaxations() {
+        return edgeRelaxations.sum();
+    }
+
+    public long getQueueOperations() {
+        return queueOperations.sum();
+    }
+
     public void reset() {
-        dfsVisits = 0;
-        edgeRelaxations = 0;
-        queueOperations = 0;
+        dfsVisits.reset();
+        edgeRelaxations.reset();
+        queueOperations.reset();
+        runTimes.reset();
+        phases.clear();
     }
 
     @Override
     public String toString() {
         return String.format(
                 "Time: %d ns, DFS Visits: %d, Edge Relaxations: %d, Queue Operations: %d",
-                getElapsedTime(), dfsVisits, edgeRelaxations, queueOperations
+                getElapsedTime(), getDfsVisits(), getEdgeRelaxations(), getQueueOperations()
         );
     }
-}
\ No newline at end of file
+
+    private static final class NoOpMetrics extends Metrics {
+        @Override
+        public void startTimer() {
+        }
+
+        @Override
+        public void stopTimer() {
+        }
+
+        @Override
+        public long startPhase() {
+            return 0;
+        }
+
+        @Override
+        public void endPhase(String phase, long start) {
+        }
+
+        @Override
+        public void addDfsVisits(long count) {
+        }
+
+        @Override
+        public void addEdgeRelaxations(long count) {
+        }
+
+        @Override
+        public void addQueueOperations(long count) {
+        }
+
+        @Override
+        public void reset() {
+        }
+    }
+}
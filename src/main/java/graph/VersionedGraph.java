@@ -0,0 +1,110 @@
+package graph;
+
+/**
+ * Graph that can be updated while other threads query it.
+ *
+ * Writers stage edges with {@link #addEdge} and make them visible with
+ * {@link #publish()}, which builds the next {@link GraphSnapshot} and swaps
+ * it in with a single volatile write. Readers call {@link #snapshot()}
+ * without locking and keep a consistent version for as long as they hold
+ * it; a batch being applied never blocks or changes a query already running.
+ * Publishing copies the whole graph once, O(n + m) on the writer thread, so
+ * staging many edges per batch keeps that cost low. Writer methods are
+ * synchronized with each other only.
+ */
+public class VersionedGraph {
+    private final int n;
+    private volatile GraphSnapshot current;
+    private CSRGraph.Builder pending = new CSRGraph.Builder();
+
+    public VersionedGraph(int n) {
+        this.n = n;
+        this.current = new GraphSnapshot(0, new CSRGraph(n, new int[n + 1], new int[0], new double[0]));
+    }
+
+    /**
+     * Creates a versioned graph whose first version holds the edges of the given graph.
+     */
+    public VersionedGraph(CSRGraph graph) {
+        this(graph.n);
+        for (int u = 0; u < graph.n; u++) {
+            for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+                pending.addEdge(u, graph.targets[e], graph.weights[e]);
+            }
+        }
+        publish();
+    }
+
+    public VersionedGraph(Graph graph) {
+        this(CSRGraph.fromGraph(graph));
+    }
+
+    /**
+     * Returns the latest published version. Never blocks.
+     */
+    public GraphSnapshot snapshot() {
+        return current;
+    }
+
+    /**
+     * Stages an edge; it becomes visible to readers at the next {@link #publish()}.
+     */
+    public synchronized void addEdge(int u, int v, double w) {
+        if (u < 0 || u >= n || v < 0 || v >= n) {
+            throw new IllegalArgumentException("Edge (" + u + " -> " + v + ") is outside 0.." + (n - 1));
+        }
+        pending.addEdge(u, v, w);
+    }
+
+    public void addEdge(int u, int v) {
+        addEdge(u, v, 1.0);
+    }
+
+    public synchronized int pendingCount() {
+        return pending.edgeCount();
+    }
+
+    /**
+     * Applies all staged edges as one new version and makes it visible to
+     * readers. Returns the new version, or the current one if nothing was
+     * staged.
+     */
+    public synchronized GraphSnapshot publish() {
+        GraphSnapshot base = current;
+        if (pending.edgeCount() == 0) {
+            return base;
+        }
+        CSRGraph batch = pending.build(n);
+        pending = new CSRGraph.Builder();
+
+        GraphSnapshot next = new GraphSnapshot(base.version + 1, merge(base.toCSR(), batch));
+        current = next;
+        return next;
+    }
+
+    /**
+     * Copies a graph with the batch edges appended after each vertex's existing edges.
+     */
+    private static CSRGraph merge(CSRGraph old, CSRGraph batch) {
+        int n = old.n;
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[old.edgeCount() + batch.edgeCount()];
+        double[] weights = new double[targets.length];
+        int e = 0;
+        for (int u = 0; u < n; u++) {
+            int oldStart = old.offsets[u];
+            int oldCount = old.offsets[u + 1] - oldStart;
+            System.arraycopy(old.targets, oldStart, targets, e, oldCount);
+            System.arraycopy(old.weights, oldStart, weights, e, oldCount);
+            e += oldCount;
+
+            int newStart = batch.offsets[u];
+            int newCount = batch.offsets[u + 1] - newStart;
+            System.arraycopy(batch.targets, newStart, targets, e, newCount);
+            System.arraycopy(batch.weights, newStart, weights, e, newCount);
+            e += newCount;
+            offsets[u + 1] = e;
+        }
+        return new CSRGraph(n, offsets, targets, weights);
+    }
+}
@@ -0,0 +1,134 @@
+package graph.dagsp;
+
+import graph.CSRGraph;
+import graph.Metrics;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * All-pairs reachability and longest paths of a DAG, e.g. a condensation graph.
+ *
+ * Reachability is a bitset {@link TransitiveClosure}. Longest paths come
+ * from {@link MultiSourceDAGPaths} with every vertex as a source, spread
+ * across the pool. The n x n distance matrix needs 8 * n * n bytes; when
+ * that exceeds the memory budget, {@link #writeLongestPaths(Path)} computes
+ * it in chunks of rows that fit the budget and streams each chunk to a
+ * file of little-endian doubles in row-major order, readable row by row
+ * with {@link #readRow(Path, int, int)}.
+ */
+public class AllPairsAnalysis {
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    private final PreparedDag dag;
+    private final Metrics metrics;
+    private final ForkJoinPool pool;
+    private final long memoryBudgetBytes;
+
+    public AllPairsAnalysis(CSRGraph dag, Metrics metrics) {
+        this(new PreparedDag(dag, metrics), metrics, ForkJoinPool.commonPool(), Runtime.getRuntime().maxMemory() / 4);
+    }
+
+    public AllPairsAnalysis(PreparedDag dag, Metrics metrics, ForkJoinPool pool, long memoryBudgetBytes) {
+        this.dag = dag;
+        this.metrics = metrics;
+        this.pool = pool;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+
+    public TransitiveClosure reachability() {
+        return new TransitiveClosure(dag.getGraph(), pool);
+    }
+
+    /**
+     * Returns true if the full longest-path matrix fits in the memory budget.
+     */
+    public boolean fitsInMemory() {
+        long n = dag.getGraph().n;
+        return n * n * Double.BYTES <= memoryBudgetBytes;
+    }
+
+    /**
+     * Returns the longest path length between every pair; negative infinity
+     * where the target is unreachable. Throws if the matrix exceeds the budget.
+     */
+    public DistanceMatrix longestPaths() {
+        if (!fitsInMemory()) {
+            throw new IllegalArgumentException("Longest-path matrix exceeds the memory budget of "
+                    + memoryBudgetBytes + " bytes; use writeLongestPaths");
+        }
+        int n = dag.getGraph().n;
+        int[] sources = new int[n];
+        for (int v = 0; v < n; v++) {
+            sources[v] = v;
+        }
+        return paths().longestPaths(sources);
+    }
+
+    /**
+     * Computes the longest-path matrix in chunks of rows within the memory
+     * budget and writes it to the file, row by row.
+     */
+    public void writeLongestPaths(Path path) throws IOException {
+        int n = dag.getGraph().n;
+        long rowBytes = Math.max(1L, (long) n * Double.BYTES);
+        int rowsPerChunk = (int) Math.max(1, Math.min(n, memoryBudgetBytes / rowBytes));
+        MultiSourceDAGPaths paths = paths();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int first = 0; first < n; first += rowsPerChunk) {
+                int[] sources = new int[Math.min(rowsPerChunk, n - first)];
+                for (int i = 0; i < sources.length; i++) {
+                    sources[i] = first + i;
+                }
+                double[] values = paths.longestPaths(sources).values;
+                for (double value : values) {
+                    if (buffer.remaining() < Double.BYTES) {
+                        flush(channel, buffer);
+                    }
+                    buffer.putDouble(value);
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Reads the longest path lengths from one source out of a file written by
+     * {@link #writeLongestPaths(Path)}.
+     */
+    public static double[] readRow(Path path, int n, int row) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = (long) row * n * Double.BYTES;
+            long size = (long) n * Double.BYTES;
+            if (channel.size() < position + size) {
+                throw new IllegalArgumentException("Row " + row + " is beyond the end of " + path);
+            }
+            DoubleBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size)
+                    .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+            double[] result = new double[n];
+            buffer.get(result);
+            return result;
+        }
+    }
+
+    private MultiSourceDAGPaths paths() {
+        return new MultiSourceDAGPaths(dag, metrics, MultiSourceDAGPaths.DEFAULT_BLOCK_SIZE, pool);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
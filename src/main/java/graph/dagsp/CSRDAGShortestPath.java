@@ -0,0 +1,80 @@
+package graph.dagsp;
+
+import graph.CSRGraph;
+import graph.Metrics;
+import graph.topo.CSRKahnTopologicalSort;
+import java.util.*;
+
+/**
+ * Computes shortest and longest paths in a DAG stored as a {@link CSRGraph}.
+ */
+public class CSRDAGShortestPath {
+    private final CSRGraph dag;
+    private final Metrics metrics;
+
+    public CSRDAGShortestPath(CSRGraph dag, Metrics metrics) {
+        this.dag = dag;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Computes single-source shortest paths from the given source vertex.
+     */
+    public ShortestPathResult shortestPath(int source) {
+        return computePaths(source, false);
+    }
+
+    /**
+     * Computes single-source longest paths from the given source vertex.
+     */
+    public ShortestPathResult longestPath(int source) {
+        return computePaths(source, true);
+    }
+
+    private ShortestPathResult computePaths(int source, boolean longestPath) {
+        int[] order = new CSRKahnTopologicalSort(dag, Metrics.NOOP).computeOrder();
+
+        metrics.startTimer();
+
+        double[] dist = new double[dag.n];
+        int[] pred = new int[dag.n];
+        Arrays.fill(pred, -1);
+        Arrays.fill(dist, longestPath ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+        dist[source] = 0.0;
+
+        metrics.addEdgeRelaxations(relax(dag, order, 0, dist, pred, longestPath));
+
+        metrics.stopTimer();
+        return new ShortestPathResult(dist, pred, source);
+    }
+
+    /**
+     * Relaxes every edge of the vertices in order[from..], in that order.
+     * Returns the number of edge relaxations performed.
+     */
+    static long relax(CSRGraph dag, int[] order, int from, double[] dist, int[] pred, boolean longestPath) {
+        int[] offsets = dag.offsets;
+        int[] targets = dag.targets;
+        double[] weights = dag.weights;
+        double unreached = longestPath ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        long relaxations = 0;
+
+        for (int i = from; i < order.length; i++) {
+            int u = order[i];
+            double du = dist[u];
+            if (du == unreached) {
+                continue;
+            }
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                relaxations++;
+                int v = targets[e];
+                double newDist = du + weights[e];
+                if (longestPath ? (newDist > dist[v]) : (newDist < dist[v])) {
+                    dist[v] = newDist;
+                    pred[v] = u;
+                }
+            }
+        }
+        return relaxations;
+    }
+}
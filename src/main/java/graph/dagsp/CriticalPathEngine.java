@@ -0,0 +1,152 @@
+package graph.dagsp;
+
+import graph.CSRGraph;
+import graph.Graph;
+import graph.Metrics;
+import graph.topo.CSRKahnTopologicalSort;
+import java.util.*;
+
+/**
+ * Critical path method (CPM) over a DAG in a single topological sweep.
+ * The forward pass is a multi-source longest-path DP seeded with every
+ * in-degree-0 vertex, which yields the earliest start of each vertex; the
+ * backward pass over the reversed order yields latest start and slack.
+ *
+ * With node weights, each vertex also takes time to run: a successor may
+ * start only once the vertex has started and run for its weight, and the
+ * project length is the latest finish. This is how the internal cost of
+ * collapsed cycles is charged when the DAG is a condensation.
+ */
+public class CriticalPathEngine {
+    private final CSRGraph dag;
+    private final int[] order; // null until computed
+    private final double[] nodeWeights; // null when only edges carry weight
+    private final Metrics metrics;
+
+    public CriticalPathEngine(CSRGraph dag, Metrics metrics) {
+        this(dag, null, null, metrics);
+    }
+
+    /**
+     * Uses the topological order cached by the prepared DAG instead of sorting again.
+     */
+    public CriticalPathEngine(PreparedDag dag, Metrics metrics) {
+        this(dag, null, metrics);
+    }
+
+    public CriticalPathEngine(Graph dag, Metrics metrics) {
+        this(CSRGraph.fromGraph(dag), metrics);
+    }
+
+    /**
+     * Node-weighted CPM: every vertex runs for its weight, e.g.
+     * {@link graph.scc.SCCResult#componentCost} on a condensation.
+     */
+    public CriticalPathEngine(CSRGraph dag, double[] nodeWeights, Metrics metrics) {
+        this(dag, null, nodeWeights, metrics);
+    }
+
+    public CriticalPathEngine(PreparedDag dag, double[] nodeWeights, Metrics metrics) {
+        this(dag.getGraph(), dag.getOrder(), nodeWeights, metrics);
+    }
+
+    private CriticalPathEngine(CSRGraph dag, int[] order, double[] nodeWeights, Metrics metrics) {
+        if (nodeWeights != null && nodeWeights.length != dag.n) {
+            throw new IllegalArgumentException("Expected " + dag.n + " node weights, got " + nodeWeights.length);
+        }
+        this.dag = dag;
+        this.order = order;
+        this.nodeWeights = nodeWeights;
+        this.metrics = metrics;
+    }
+
+    public CriticalPathResult compute() {
+        int n = dag.n;
+        if (n == 0) {
+            return new CriticalPathResult(new ArrayList<>(), Double.NEGATIVE_INFINITY, -1, -1);
+        }
+
+        int[] order = this.order != null ? this.order : new CSRKahnTopologicalSort(dag, Metrics.NOOP).computeOrder();
+        if (order.length != n) {
+            throw new IllegalArgumentException("Critical path requires a DAG, but the graph contains a cycle");
+        }
+
+        metrics.startTimer();
+
+        int[] offsets = dag.offsets;
+        int[] targets = dag.targets;
+        double[] weights = dag.weights;
+
+        // Forward pass: every start vertex (in-degree 0) begins at time 0
+        boolean[] hasPredecessor = new boolean[n];
+        for (int e = 0; e < offsets[n]; e++) {
+            hasPredecessor[targets[e]] = true;
+        }
+        double[] earliest = new double[n];
+        int[] pred = new int[n];
+        Arrays.fill(pred, -1);
+        for (int v = 0; v < n; v++) {
+            earliest[v] = hasPredecessor[v] ? Double.NEGATIVE_INFINITY : 0.0;
+        }
+        long relaxations;
+        if (nodeWeights == null) {
+            relaxations = CSRDAGShortestPath.relax(dag, order, 0, earliest, pred, true);
+        } else {
+            relaxations = 0;
+            for (int u : order) {
+                double finish = earliest[u] + nodeWeights[u];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    relaxations++;
+                    int v = targets[e];
+                    if (finish + weights[e] > earliest[v]) {
+                        earliest[v] = finish + weights[e];
+                        pred[v] = u;
+                    }
+                }
+            }
+        }
+
+        int target = 0;
+        for (int v = 1; v < n; v++) {
+            if (earliest[v] + duration(v) > earliest[target] + duration(target)) {
+                target = v;
+            }
+        }
+        double length = earliest[target] + duration(target);
+
+        // Backward pass: end vertices (out-degree 0) must be reached by the project length
+        double[] latest = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int u = order[i];
+            double lu = length;
+            if (offsets[u] < offsets[u + 1]) {
+                lu = Double.POSITIVE_INFINITY;
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    relaxations++;
+                    lu = Math.min(lu, latest[targets[e]] - weights[e]);
+                }
+            }
+            latest[u] = lu - duration(u);
+        }
+
+        double[] slack = new double[n];
+        for (int v = 0; v < n; v++) {
+            slack[v] = latest[v] - earliest[v];
+        }
+
+        List<Integer> path = new ArrayList<>();
+        for (int v = target; v != -1; v = pred[v]) {
+            path.add(v);
+        }
+        Collections.reverse(path);
+
+        metrics.stopTimer();
+        metrics.addEdgeRelaxations(relaxations);
+
+        return new CriticalPathResult(path, length, path.get(0), target, earliest, latest, slack);
+    }
+
+    private double duration(int v) {
+        return nodeWeights == null ? 0.0 : nodeWeights[v];
+    }
+}
@@ -4,18 +4,45 @@ import java.util.*;
 
 /**
  * Contains the results of critical path analysis.
+ * When produced by {@link CriticalPathEngine} it also carries the per-vertex
+ * earliest start, latest start and slack from the CPM forward and backward passes.
  */
 public class CriticalPathResult {
+    private static final double SLACK_EPSILON = 1e-9;
+
     public final List<Integer> path;
     public final double length;
     public final int source;
     public final int target;
+    public final double[] earliestStart; // longest distance from any start vertex
+    public final double[] latestStart; // latest time a vertex can be reached without delaying the project
+    public final double[] slack; // latestStart - earliestStart
 
     public CriticalPathResult(List<Integer> path, double length, int source, int target) {
+        this(path, length, source, target, new double[0], new double[0], new double[0]);
+    }
+
+    public CriticalPathResult(List<Integer> path, double length, int source, int target,
+                              double[] earliestStart, double[] latestStart, double[] slack) {
         this.path = path;
         this.length = length;
         this.source = source;
         this.target = target;
+        this.earliestStart = earliestStart;
+        this.latestStart = latestStart;
+        this.slack = slack;
+    }
+
+    /**
+     * Returns true if the vertex has no slack, i.e. delaying it delays the whole project.
+     * Results built without slack data (e.g. for an empty graph) fall back to
+     * membership in the critical path.
+     */
+    public boolean isCritical(int vertex) {
+        if (vertex >= slack.length) {
+            return path.contains(vertex);
+        }
+        return Math.abs(slack[vertex]) < SLACK_EPSILON;
     }
 
     @Override
@@ -25,4 +52,4 @@ public class CriticalPathResult {
                 path, length, source, target
         );
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,9 @@
 package graph.dagsp;
 
+import graph.CSRGraph;
 import graph.Graph;
 import graph.Metrics;
+import graph.scc.SCCResult;
 
 /**
  * Factory class for DAG shortest/longest path computations.
@@ -22,4 +24,56 @@ public class DAGSP {
         DAGShortestPath sp = new DAGShortestPath(dag, metrics);
         return sp.findCriticalPath();
     }
+
+    /**
+     * Finds the critical path of a DAG whose vertices run for the given node weights.
+     */
+    public static CriticalPathResult findCriticalPath(Graph dag, double[] nodeWeights, Metrics metrics) {
+        DAGShortestPath sp = new DAGShortestPath(dag, metrics);
+        return sp.findCriticalPath(nodeWeights);
+    }
+
+    /**
+     * Finds the critical path of an SCC condensation, charging each component
+     * its internal cost so collapsed cycles still count towards the project length.
+     */
+    public static CriticalPathResult findCriticalPath(SCCResult scc, Metrics metrics) {
+        return findCriticalPath(scc.condensationGraph, scc.componentCost, metrics);
+    }
+
+    public static ShortestPathResult shortestPath(CSRGraph dag, int source, Metrics metrics) {
+        CSRDAGShortestPath sp = new CSRDAGShortestPath(dag, metrics);
+        return sp.shortestPath(source);
+    }
+
+    public static ShortestPathResult longestPath(CSRGraph dag, int source, Metrics metrics) {
+        CSRDAGShortestPath sp = new CSRDAGShortestPath(dag, metrics);
+        return sp.longestPath(source);
+    }
+
+    /**
+     * Prepares a DAG for repeated path queries, caching its CSR form and topological order.
+     */
+    public static PreparedDag prepare(Graph dag, Metrics metrics) {
+        return new PreparedDag(dag, metrics);
+    }
+
+    public static CriticalPathResult findCriticalPath(CSRGraph dag, Metrics metrics) {
+        return new CriticalPathEngine(dag, metrics).compute();
+    }
+
+    public static CriticalPathResult findCriticalPath(CSRGraph dag, double[] nodeWeights, Metrics metrics) {
+        return new CriticalPathEngine(dag, nodeWeights, metrics).compute();
+    }
+
+    /**
+     * Computes the distances from every source in one blocked pass per group of sources.
+     */
+    public static DistanceMatrix shortestPaths(CSRGraph dag, int[] sources, Metrics metrics) {
+        return new MultiSourceDAGPaths(new PreparedDag(dag, metrics), metrics).shortestPaths(sources);
+    }
+
+    public static DistanceMatrix longestPaths(CSRGraph dag, int[] sources, Metrics metrics) {
+        return new MultiSourceDAGPaths(new PreparedDag(dag, metrics), metrics).longestPaths(sources);
+    }
 }
\ No newline at end of file
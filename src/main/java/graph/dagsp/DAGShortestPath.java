@@ -1,5 +1,6 @@
 package graph.dagsp;
 
+import graph.CSRGraph;
 import graph.Graph;
 import graph.Metrics;
 import graph.topo.TopologicalSort;
@@ -22,7 +23,7 @@ public class DAGShortestPath {
      * Computes single-source shortest paths from the given source vertex.
      */
     public ShortestPathResult shortestPath(int source) {
-        return computePaths(source, false);
+        return computePaths(source, false, null);
     }
 
     /**
@@ -30,10 +31,21 @@ public class DAGShortestPath {
      * This finds the critical path in project scheduling.
      */
     public ShortestPathResult longestPath(int source) {
-        return computePaths(source, true);
+        return computePaths(source, true, null);
     }
 
-    private ShortestPathResult computePaths(int source, boolean longestPath) {
+    /**
+     * Computes single-source longest paths where every vertex on a path also
+     * adds its node weight, source and destination included.
+     */
+    public ShortestPathResult longestPath(int source, double[] nodeWeights) {
+        if (nodeWeights.length != dag.n) {
+            throw new IllegalArgumentException("Expected " + dag.n + " node weights, got " + nodeWeights.length);
+        }
+        return computePaths(source, true, nodeWeights);
+    }
+
+    private ShortestPathResult computePaths(int source, boolean longestPath, double[] nodeWeights) {
         metrics.startTimer();
 
         // Initialize distances and predecessors
@@ -44,7 +56,7 @@ public class DAGShortestPath {
         if (longestPath) {
             // For longest path, initialize to negative infinity
             Arrays.fill(dist, Double.NEGATIVE_INFINITY);
-            dist[source] = 0.0;
+            dist[source] = nodeWeights != null ? nodeWeights[source] : 0.0;
         } else {
             // For shortest path, initialize to positive infinity
             Arrays.fill(dist, Double.POSITIVE_INFINITY);
@@ -52,19 +64,23 @@ public class DAGShortestPath {
         }
 
         // Get topological order of the DAG
-        TopologicalSortResult topo = TopologicalSort.sortDAG(dag, new Metrics());
-        List<Integer> order = topo.order;
+        TopologicalSortResult topo = TopologicalSort.sortDAG(dag, Metrics.NOOP);
+        int[] order = topo.getOrderArray();
 
         // Process vertices in topological order
+        long relaxations = 0;
         for (int u : order) {
             if (dist[u] != (longestPath ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY)) {
                 for (graph.Edge edge : dag.getEdges(u)) {
-                    metrics.edgeRelaxations++;
+                    relaxations++;
 
                     double newDist;
                     if (longestPath) {
                         // For longest path, we invert the logic
                         newDist = dist[u] + edge.w;
+                        if (nodeWeights != null) {
+                            newDist += nodeWeights[edge.v];
+                        }
                     } else {
                         // For shortest path, standard relaxation
                         newDist = dist[u] + edge.w;
@@ -80,56 +96,22 @@ public class DAGShortestPath {
         }
 
         metrics.stopTimer();
+        metrics.addEdgeRelaxations(relaxations);
         return new ShortestPathResult(dist, pred, source);
     }
 
     /**
      * Finds the critical path (longest path) in the entire DAG.
-     * Returns the path and its length.
+     * Returns the path and its length, plus CPM start times and slack.
      */
     public CriticalPathResult findCriticalPath() {
-        // We need to find the longest path from any source to any target
-        // This requires running longest path from every vertex that has in-degree 0
-
-        double maxLength = Double.NEGATIVE_INFINITY;
-        List<Integer> criticalPath = new ArrayList<>();
-        int bestSource = -1;
-        int bestTarget = -1;
-
-        // Find potential sources (vertices with in-degree 0)
-        List<Integer> sources = new ArrayList<>();
-        int[] inDegree = new int[dag.n];
-        for (int u = 0; u < dag.n; u++) {
-            for (graph.Edge edge : dag.getEdges(u)) {
-                inDegree[edge.v]++;
-            }
-        }
-        for (int i = 0; i < dag.n; i++) {
-            if (inDegree[i] == 0) {
-                sources.add(i);
-            }
-        }
-
-        // If no obvious sources, try all vertices
-        if (sources.isEmpty()) {
-            for (int i = 0; i < dag.n; i++) {
-                sources.add(i);
-            }
-        }
-
-        // Find longest path from each source
-        for (int source : sources) {
-            ShortestPathResult result = longestPath(source);
-            int target = result.getFarthestVertex();
-
-            if (target != -1 && result.getDistance(target) > maxLength) {
-                maxLength = result.getDistance(target);
-                criticalPath = result.reconstructPath(target);
-                bestSource = source;
-                bestTarget = target;
-            }
-        }
+        return new CriticalPathEngine(dag, metrics).compute();
+    }
 
-        return new CriticalPathResult(criticalPath, maxLength, bestSource, bestTarget);
+    /**
+     * Finds the critical path when every vertex also runs for its node weight.
+     */
+    public CriticalPathResult findCriticalPath(double[] nodeWeights) {
+        return new CriticalPathEngine(CSRGraph.fromGraph(dag), nodeWeights, metrics).compute();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package graph.dagsp;
+
+import java.util.*;
+
+/**
+ * Distances from several sources, stored as one flat row-major array:
+ * row i holds the distances from sources[i] to every vertex.
+ * Unreachable vertices hold positive infinity for shortest paths and
+ * negative infinity for longest paths.
+ */
+public class DistanceMatrix {
+    public final int[] sources;
+    public final int n; // number of columns (vertices)
+    public final double[] values; // length sources.length * n
+
+    public DistanceMatrix(int[] sources, int n, double[] values) {
+        if (values.length != (long) sources.length * n) {
+            throw new IllegalArgumentException("Matrix must have sources.length * n entries");
+        }
+        this.sources = sources;
+        this.n = n;
+        this.values = values;
+    }
+
+    public int getRowCount() {
+        return sources.length;
+    }
+
+    /**
+     * Returns the distance from sources[row] to the vertex.
+     */
+    public double get(int row, int vertex) {
+        return values[row * n + vertex];
+    }
+
+    /**
+     * Returns a copy of one row.
+     */
+    public double[] getRow(int row) {
+        return Arrays.copyOfRange(values, row * n, (row + 1) * n);
+    }
+
+    /**
+     * Returns the matrix as one array per source.
+     */
+    public double[][] toArray() {
+        double[][] rows = new double[sources.length][];
+        for (int i = 0; i < sources.length; i++) {
+            rows[i] = getRow(i);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,358 @@
+package graph.dagsp;
+
+import graph.CSRGraph;
+import graph.Graph;
+import graph.InEdgeIndex;
+import graph.Metrics;
+import graph.topo.CSRKahnTopologicalSort;
+import java.util.*;
+
+/**
+ * Critical path method (CPM) kept up to date under edge weight changes.
+ *
+ * Two values are maintained per vertex: the earliest start (longest distance
+ * from any start vertex) and the tail length (longest distance to any end
+ * vertex). Latest start and slack follow from them and the project length L:
+ * latestStart = L - tail and slack = L - earliest - tail. After a weight
+ * change, earliest starts are recomputed only for descendants whose value
+ * actually changes, visited in topological order through a position heap;
+ * tail lengths are repaired the same way over ancestors in reverse order. L
+ * is the maximum earliest start, tracked by a segment tree, so a change costs
+ * time proportional to the vertices it affects rather than to the graph.
+ *
+ * The results match {@link CriticalPathEngine} on the graph with the current weights.
+ */
+public class IncrementalCriticalPath {
+    private final int n;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights; // private copy, updated in place
+    private final InEdgeIndex incoming; // forward edge ids, so weights stay in one array
+    private final int[] position; // vertex -> index in topological order
+    private final int[] order;
+    private final Metrics metrics;
+
+    private final double[] earliest;
+    private final double[] tail;
+    private final int[] tree; // segment tree of the vertex with the largest earliest start
+    private final int leaves;
+
+    private final PositionHeap heap;
+    private final boolean[] queued;
+
+    public IncrementalCriticalPath(Graph dag, Metrics metrics) {
+        this(CSRGraph.fromGraphWithIncoming(dag), metrics);
+    }
+
+    public IncrementalCriticalPath(CSRGraph dag, Metrics metrics) {
+        this.n = dag.n;
+        this.metrics = metrics;
+        this.offsets = dag.offsets;
+        this.targets = dag.targets;
+        this.weights = Arrays.copyOf(dag.weights, dag.edgeCount());
+
+        this.order = new CSRKahnTopologicalSort(dag, Metrics.NOOP).computeOrder();
+        if (order.length != n) {
+            throw new IllegalArgumentException("Critical path requires a DAG, but the graph contains a cycle");
+        }
+        this.position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order[i]] = i;
+        }
+
+        incoming = dag.incoming();
+
+        earliest = new double[n];
+        tail = new double[n];
+        long relaxations = 0;
+        for (int i = 0; i < n; i++) {
+            int v = order[i];
+            earliest[v] = computeEarliest(v);
+            relaxations += incoming.inDegree(v);
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int u = order[i];
+            tail[u] = computeTail(u);
+            relaxations += offsets[u + 1] - offsets[u];
+        }
+        metrics.addEdgeRelaxations(relaxations);
+
+        int size = 1;
+        while (size < Math.max(n, 1)) {
+            size <<= 1;
+        }
+        leaves = size;
+        tree = new int[2 * size];
+        Arrays.fill(tree, -1);
+        for (int v = 0; v < n; v++) {
+            tree[size + v] = v;
+        }
+        for (int i = size - 1; i >= 1; i--) {
+            tree[i] = better(tree[2 * i], tree[2 * i + 1]);
+        }
+
+        heap = new PositionHeap(n);
+        queued = new boolean[n];
+    }
+
+    /**
+     * Changes the weight of the first edge u -> v.
+     */
+    public void setWeight(int u, int v, double w) {
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+            if (targets[e] == v) {
+                setWeight(e, w);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("No edge " + u + " -> " + v);
+    }
+
+    /**
+     * Changes the weight of an edge, identified by its CSR index, and
+     * propagates the change to the affected vertices.
+     */
+    public void setWeight(int edge, double w) {
+        if (weights[edge] == w) {
+            return;
+        }
+        weights[edge] = w;
+        long relaxations = 0;
+
+        // Earliest starts: descendants of the head, in topological order
+        int head = targets[edge];
+        heap.push(position[head]);
+        queued[head] = true;
+        while (!heap.isEmpty()) {
+            int v = order[heap.pop()];
+            queued[v] = false;
+            relaxations += incoming.inDegree(v);
+            double value = computeEarliest(v);
+            if (value == earliest[v]) {
+                continue;
+            }
+            earliest[v] = value;
+            updateTree(v);
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int t = targets[e];
+                if (!queued[t]) {
+                    queued[t] = true;
+                    heap.push(position[t]);
+                }
+            }
+        }
+
+        // Tail lengths: ancestors of the tail, in reverse topological order
+        int from = tailOf(edge);
+        heap.push(n - 1 - position[from]);
+        queued[from] = true;
+        while (!heap.isEmpty()) {
+            int u = order[n - 1 - heap.pop()];
+            queued[u] = false;
+            relaxations += offsets[u + 1] - offsets[u];
+            double value = computeTail(u);
+            if (value == tail[u]) {
+                continue;
+            }
+            tail[u] = value;
+            InEdgeIndex.Range predecessors = incoming.getIncoming(u);
+            for (int i = 0; i < predecessors.size(); i++) {
+                int s = predecessors.source(i);
+                if (!queued[s]) {
+                    queued[s] = true;
+                    heap.push(n - 1 - position[s]);
+                }
+            }
+        }
+
+        metrics.addEdgeRelaxations(relaxations);
+    }
+
+    public double getWeight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Returns the project length: the largest earliest start of any vertex.
+     */
+    public double getLength() {
+        return n == 0 ? Double.NEGATIVE_INFINITY : earliest[tree[1]];
+    }
+
+    public double getEarliestStart(int v) {
+        return earliest[v];
+    }
+
+    public double getLatestStart(int v) {
+        return getLength() - tail[v];
+    }
+
+    public double getSlack(int v) {
+        return getLength() - earliest[v] - tail[v];
+    }
+
+    /**
+     * Returns a critical path, walked back from the vertex that finishes last
+     * through predecessors that determine each earliest start.
+     */
+    public List<Integer> getCriticalPath() {
+        List<Integer> path = new ArrayList<>();
+        if (n == 0) {
+            return path;
+        }
+        int v = tree[1];
+        path.add(v);
+        while (incoming.inDegree(v) > 0) {
+            InEdgeIndex.Range predecessors = incoming.getIncoming(v);
+            int next = -1;
+            for (int i = 0; i < predecessors.size(); i++) {
+                int s = predecessors.source(i);
+                if (earliest[s] + weights[predecessors.edgeId(i)] == earliest[v]) {
+                    next = s;
+                    break;
+                }
+            }
+            v = next;
+            path.add(v);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Returns the current analysis in the same form as {@link CriticalPathEngine#compute()}.
+     */
+    public CriticalPathResult toResult() {
+        if (n == 0) {
+            return new CriticalPathResult(new ArrayList<>(), Double.NEGATIVE_INFINITY, -1, -1);
+        }
+        double length = getLength();
+        double[] latest = new double[n];
+        double[] slack = new double[n];
+        for (int v = 0; v < n; v++) {
+            latest[v] = length - tail[v];
+            slack[v] = latest[v] - earliest[v];
+        }
+        List<Integer> path = getCriticalPath();
+        return new CriticalPathResult(path, length, path.get(0), path.get(path.size() - 1),
+                Arrays.copyOf(earliest, n), latest, slack);
+    }
+
+    /**
+     * Returns a CSR graph with the current weights.
+     */
+    public CSRGraph toCSRGraph() {
+        return new CSRGraph(n, offsets, targets, Arrays.copyOf(weights, weights.length));
+    }
+
+    /**
+     * Returns the vertex whose out-edge range contains the given CSR index.
+     */
+    private int tailOf(int edge) {
+        int low = 0;
+        int high = n - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= edge) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private double computeEarliest(int v) {
+        InEdgeIndex.Range predecessors = incoming.getIncoming(v);
+        if (predecessors.size() == 0) {
+            return 0.0; // Start vertex
+        }
+        double value = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < predecessors.size(); i++) {
+            value = Math.max(value, earliest[predecessors.source(i)] + weights[predecessors.edgeId(i)]);
+        }
+        return value;
+    }
+
+    private double computeTail(int u) {
+        if (offsets[u] == offsets[u + 1]) {
+            return 0.0; // End vertex
+        }
+        double value = Double.NEGATIVE_INFINITY;
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+            value = Math.max(value, weights[e] + tail[targets[e]]);
+        }
+        return value;
+    }
+
+    private void updateTree(int v) {
+        for (int i = (leaves + v) >> 1; i >= 1; i >>= 1) {
+            tree[i] = better(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    /**
+     * The vertex with the larger earliest start; the lower index wins ties,
+     * as in {@link CriticalPathEngine}.
+     */
+    private int better(int a, int b) {
+        if (a == -1) {
+            return b;
+        }
+        if (b == -1) {
+            return a;
+        }
+        return earliest[b] > earliest[a] ? b : a;
+    }
+
+    /**
+     * Binary min-heap of topological positions.
+     */
+    private static final class PositionHeap {
+        private final int[] heap;
+        private int size;
+
+        PositionHeap(int capacity) {
+            heap = new int[Math.max(capacity, 1)];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int key) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >> 1;
+                if (heap[parent] <= key) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = key;
+        }
+
+        int pop() {
+            int top = heap[0];
+            int key = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= key) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = key;
+            return top;
+        }
+    }
+}
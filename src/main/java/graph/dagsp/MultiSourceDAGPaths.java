@@ -0,0 +1,171 @@
+package graph.dagsp;
+
+import graph.CSRGraph;
+import graph.Metrics;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Distances from many sources over a prepared DAG.
+ *
+ * Sources are processed in blocks. For one block the distances are kept
+ * interleaved, dist[v * blockSize + k] for source k, so a single sweep of the
+ * topological order reads each vertex's edges once and relaxes them for the
+ * whole block from one or two cache lines. The sweep starts at the earliest
+ * source of the block. Blocks are independent and can run on a ForkJoinPool.
+ * Only distances are computed; use {@link PreparedDag} for single-source
+ * queries that need the paths themselves.
+ */
+public class MultiSourceDAGPaths {
+    public static final int DEFAULT_BLOCK_SIZE = 8;
+
+    private final PreparedDag dag;
+    private final Metrics metrics;
+    private final int blockSize;
+    private final ForkJoinPool pool; // null runs the blocks on the calling thread
+
+    public MultiSourceDAGPaths(PreparedDag dag, Metrics metrics) {
+        this(dag, metrics, DEFAULT_BLOCK_SIZE, null);
+    }
+
+    public MultiSourceDAGPaths(PreparedDag dag, Metrics metrics, int blockSize, ForkJoinPool pool) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.dag = dag;
+        this.metrics = metrics;
+        this.blockSize = blockSize;
+        this.pool = pool;
+    }
+
+    public DistanceMatrix shortestPaths(int[] sources) {
+        return compute(sources, false);
+    }
+
+    public DistanceMatrix longestPaths(int[] sources) {
+        return compute(sources, true);
+    }
+
+    private DistanceMatrix compute(int[] sources, boolean longestPath) {
+        int n = dag.getGraph().n;
+        for (int source : sources) {
+            if (source < 0 || source >= n) {
+                throw new IllegalArgumentException("Source " + source + " is outside 0.." + (n - 1));
+            }
+        }
+
+        if ((long) sources.length * n > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Distance matrix of " + sources.length + " x " + n
+                    + " does not fit in one array; split the sources");
+        }
+
+        metrics.startTimer();
+
+        double[] values = new double[sources.length * n];
+        int blocks = (sources.length + blockSize - 1) / blockSize;
+        BlockTask task = new BlockTask(sources, longestPath, values, 0, blocks);
+        long relaxations = pool == null ? task.compute() : pool.invoke(task);
+
+        metrics.stopTimer();
+        metrics.addEdgeRelaxations(relaxations);
+
+        return new DistanceMatrix(Arrays.copyOf(sources, sources.length), n, values);
+    }
+
+    /**
+     * Sweeps the order once for the sources first .. first + count - 1 and
+     * writes their rows. Returns the number of relaxations.
+     */
+    private long sweepBlock(int[] sources, int first, int count, boolean longestPath, double[] values) {
+        CSRGraph graph = dag.getGraph();
+        int n = graph.n;
+        int[] order = dag.getOrder();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        double[] weights = graph.weights;
+        double unreached = longestPath ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+
+        double[] dist = new double[n * count];
+        Arrays.fill(dist, unreached);
+        int start = n;
+        for (int k = 0; k < count; k++) {
+            int source = sources[first + k];
+            dist[source * count + k] = 0.0;
+            start = Math.min(start, dag.positionOf(source));
+        }
+
+        long relaxations = 0;
+        for (int i = start; i < n; i++) {
+            int u = order[i];
+            int base = u * count;
+            boolean reached = false;
+            for (int k = 0; k < count; k++) {
+                if (dist[base + k] != unreached) {
+                    reached = true;
+                    break;
+                }
+            }
+            if (!reached) {
+                continue;
+            }
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int target = targets[e] * count;
+                double w = weights[e];
+                relaxations += count;
+                for (int k = 0; k < count; k++) {
+                    double candidate = dist[base + k] + w;
+                    if (longestPath ? candidate > dist[target + k] : candidate < dist[target + k]) {
+                        dist[target + k] = candidate;
+                    }
+                }
+            }
+        }
+
+        // Transpose the interleaved block into its rows of the result
+        for (int k = 0; k < count; k++) {
+            int row = (first + k) * n;
+            for (int v = 0; v < n; v++) {
+                values[row + v] = dist[v * count + k];
+            }
+        }
+        return relaxations;
+    }
+
+    /**
+     * Runs the blocks in [from, to), splitting the range across the pool.
+     */
+    private final class BlockTask extends RecursiveTask<Long> {
+        private final int[] sources;
+        private final boolean longestPath;
+        private final double[] values;
+        private final int from;
+        private final int to;
+
+        BlockTask(int[] sources, boolean longestPath, double[] values, int from, int to) {
+            this.sources = sources;
+            this.longestPath = longestPath;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (pool != null && to - from > 1) {
+                int mid = (from + to) >>> 1;
+                BlockTask left = new BlockTask(sources, longestPath, values, from, mid);
+                left.fork();
+                long right = new BlockTask(sources, longestPath, values, mid, to).compute();
+                return left.join() + right;
+            }
+            long relaxations = 0;
+            for (int b = from; b < to; b++) {
+                int first = b * blockSize;
+                int count = Math.min(blockSize, sources.length - first);
+                relaxations += sweepBlock(sources, first, count, longestPath, values);
+            }
+            return relaxations;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package graph.dagsp;
+
+import graph.CSRGraph;
+import graph.Graph;
+import graph.Metrics;
+import graph.topo.CSRKahnTopologicalSort;
+import java.util.*;
+
+/**
+ * A DAG prepared once for many single-source path queries.
+ * The CSR adjacency, the topological order and each vertex's position in
+ * that order are computed at construction; a query only sweeps the suffix
+ * of the order that starts at its source and allocates nothing but its result.
+ */
+public class PreparedDag {
+    private final CSRGraph dag;
+    private final int[] order;
+    private final int[] position; // vertex -> index in order
+    private final Metrics metrics;
+
+    public PreparedDag(Graph dag, Metrics metrics) {
+        this(CSRGraph.fromGraph(dag), metrics);
+    }
+
+    public PreparedDag(CSRGraph dag, Metrics metrics) {
+        this(dag, new CSRKahnTopologicalSort(dag, Metrics.NOOP).computeOrder(), metrics);
+    }
+
+    /**
+     * Prepares a DAG whose topological order is already known, e.g. the
+     * reversed component order of Tarjan's algorithm.
+     */
+    public PreparedDag(CSRGraph dag, int[] order, Metrics metrics) {
+        if (order.length != dag.n) {
+            throw new IllegalArgumentException("Graph contains a cycle or the order is incomplete");
+        }
+        this.dag = dag;
+        this.order = order;
+        this.metrics = metrics;
+        this.position = new int[dag.n];
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+        }
+    }
+
+    public CSRGraph getGraph() {
+        return dag;
+    }
+
+    /**
+     * Returns the cached topological order. Callers must not modify it.
+     */
+    public int[] getOrder() {
+        return order;
+    }
+
+    /**
+     * Returns the index of the vertex in the cached topological order.
+     */
+    public int positionOf(int vertex) {
+        return position[vertex];
+    }
+
+    public ShortestPathResult shortestPath(int source) {
+        return query(source, false);
+    }
+
+    public ShortestPathResult longestPath(int source) {
+        return query(source, true);
+    }
+
+    /**
+     * Writes single-source distances and predecessors into caller-owned arrays
+     * of length n, so repeated queries can run without any allocation.
+     */
+    public void computePaths(int source, boolean longestPath, double[] dist, int[] pred) {
+        metrics.startTimer();
+
+        Arrays.fill(dist, longestPath ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+        Arrays.fill(pred, -1);
+        dist[source] = 0.0;
+
+        // Nothing before the source in topological order is reachable from it
+        metrics.addEdgeRelaxations(CSRDAGShortestPath.relax(dag, order, position[source], dist, pred, longestPath));
+
+        metrics.stopTimer();
+    }
+
+    private ShortestPathResult query(int source, boolean longestPath) {
+        double[] dist = new double[dag.n];
+        int[] pred = new int[dag.n];
+        computePaths(source, longestPath, dist, pred);
+        return new ShortestPathResult(dist, pred, source);
+    }
+}
@@ -0,0 +1,119 @@
+package graph.dagsp;
+
+import graph.CSRGraph;
+import graph.Metrics;
+import graph.topo.LevelTopologicalSortResult;
+import graph.topo.ParallelTopologicalSort;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reachability between every pair of vertices of a DAG, one bit per pair.
+ *
+ * Row u is the bitset of vertices reachable from u, u itself included. Rows
+ * are filled in reverse topological order by OR-ing the rows of u's
+ * successors a 64-bit word at a time. Vertices in the same topological
+ * level have no edges between them, so each level's rows are computed in
+ * parallel, deepest level first. Memory is n * ceil(n / 64) longs.
+ */
+public class TransitiveClosure {
+    private static final int SEQUENTIAL_THRESHOLD = 64; // rows per leaf task
+
+    public final int n;
+    private final int words; // longs per row
+    private final long[] bits;
+
+    public TransitiveClosure(CSRGraph dag) {
+        this(dag, ForkJoinPool.commonPool());
+    }
+
+    public TransitiveClosure(CSRGraph dag, ForkJoinPool pool) {
+        this.n = dag.n;
+        this.words = (n + 63) >>> 6;
+        if ((long) n * words > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Closure of " + n + " vertices does not fit in one array");
+        }
+        this.bits = new long[n * words];
+
+        LevelTopologicalSortResult levels = new ParallelTopologicalSort(dag, Metrics.NOOP, pool).topologicalSort();
+        int[] order = levels.getOrderArray();
+        if (order.length != n) {
+            throw new IllegalArgumentException("Transitive closure requires a DAG, but the graph contains a cycle");
+        }
+        for (int k = levels.getLevelCount() - 1; k >= 0; k--) {
+            pool.invoke(new RowTask(dag, order, levels.levelStart[k], levels.levelStart[k + 1]));
+        }
+    }
+
+    /**
+     * Returns true if v is reachable from u; every vertex reaches itself.
+     */
+    public boolean reaches(int u, int v) {
+        return (bits[u * words + (v >>> 6)] & (1L << v)) != 0;
+    }
+
+    /**
+     * Returns the number of vertices reachable from u, u included.
+     */
+    public int reachableCount(int u) {
+        int count = 0;
+        for (int i = u * words; i < (u + 1) * words; i++) {
+            count += Long.bitCount(bits[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the vertices reachable from u in ascending order, u included.
+     */
+    public int[] reachableFrom(int u) {
+        int[] result = new int[reachableCount(u)];
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            long word = bits[u * words + w];
+            while (word != 0) {
+                result[count++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the rows of order[from .. to - 1], all from one level.
+     */
+    private final class RowTask extends RecursiveAction {
+        private final CSRGraph dag;
+        private final int[] order;
+        private final int from;
+        private final int to;
+
+        RowTask(CSRGraph dag, int[] order, int from, int to) {
+            this.dag = dag;
+            this.order = order;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RowTask(dag, order, from, mid), new RowTask(dag, order, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                int u = order[i];
+                int row = u * words;
+                bits[row + (u >>> 6)] |= 1L << u;
+                for (int e = dag.offsets[u]; e < dag.offsets[u + 1]; e++) {
+                    int successor = dag.targets[e] * words;
+                    for (int w = 0; w < words; w++) {
+                        bits[row + w] |= bits[successor + w];
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package graph.pipeline;
+
+import graph.CSRGraph;
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.ShortestPathResult;
+import java.util.*;
+
+/**
+ * Everything a {@link SchedulingPipeline} run produces, with the time each stage took.
+ * Arrays are shared with the pipeline stages and must not be modified.
+ */
+public class PipelineResult {
+    public final int[] componentId; // vertex -> component, numbered in reverse topological order
+    public final int componentCount;
+    public final CSRGraph condensation;
+    public final double[] componentCost; // component -> internal cost, all 0 unless the builder computes one
+    public final int[] componentOrder; // components in topological order
+    public final int[] taskOrder; // vertices grouped by component, components in topological order
+    public final int sourceComponent;
+    public final ShortestPathResult shortestPaths; // from sourceComponent over the condensation
+    public final CriticalPathResult criticalPath;
+    private final int[] componentStart; // component -> first index in taskOrder
+    private final Map<String, Long> stageTimes;
+
+    PipelineResult(int[] componentId, int componentCount, CSRGraph condensation, double[] componentCost,
+                   int[] componentOrder, int[] taskOrder, int[] componentStart, int sourceComponent,
+                   ShortestPathResult shortestPaths, CriticalPathResult criticalPath,
+                   Map<String, Long> stageTimes) {
+        this.componentId = componentId;
+        this.componentCount = componentCount;
+        this.condensation = condensation;
+        this.componentCost = componentCost;
+        this.componentOrder = componentOrder;
+        this.taskOrder = taskOrder;
+        this.componentStart = componentStart;
+        this.sourceComponent = sourceComponent;
+        this.shortestPaths = shortestPaths;
+        this.criticalPath = criticalPath;
+        this.stageTimes = stageTimes;
+    }
+
+    /**
+     * Returns the vertices of a component in ascending order.
+     */
+    public int[] getComponent(int component) {
+        return Arrays.copyOfRange(taskOrder, componentStart[component], componentStart[component] + getComponentSize(component));
+    }
+
+    public int getComponentSize(int component) {
+        int start = componentStart[component];
+        // Components are laid out in topological order, i.e. by descending ID
+        int end = component == 0 ? taskOrder.length : componentStart[component - 1];
+        return end - start;
+    }
+
+    /**
+     * Returns the nanoseconds spent in each stage, in execution order.
+     */
+    public Map<String, Long> getStageTimes() {
+        return Collections.unmodifiableMap(stageTimes);
+    }
+
+    public long getTotalTime() {
+        long total = 0;
+        for (long time : stageTimes.values()) {
+            total += time;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,107 @@
+package graph.pipeline;
+
+import graph.CSRGraph;
+import graph.Metrics;
+import graph.dagsp.CriticalPathEngine;
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.PreparedDag;
+import graph.dagsp.ShortestPathResult;
+import graph.scc.CSRTarjanSCC;
+import graph.scc.CondensationBuilder;
+import java.util.*;
+
+/**
+ * Runs the whole scheduling analysis on a CSR graph in one pass:
+ * SCC, condensation, topological order, shortest paths from a source and
+ * the critical path.
+ *
+ * Stages hand their arrays to the next instead of recomputing them. Tarjan's
+ * algorithm numbers components in reverse topological order, so the
+ * condensation order is simply C - 1 .. 0 and no Kahn sort runs at all. The
+ * condensation is built straight into CSR form, and its order is prepared
+ * once and shared by the shortest-path and critical-path stages. Each
+ * stage's time is reported in the result and recorded as a phase in the metrics.
+ */
+public class SchedulingPipeline {
+    public static final String STAGE_SCC = "scc";
+    public static final String STAGE_CONDENSATION = "condensation";
+    public static final String STAGE_TOPOLOGICAL_ORDER = "topological-order";
+    public static final String STAGE_SHORTEST_PATHS = "shortest-paths";
+    public static final String STAGE_CRITICAL_PATH = "critical-path";
+
+    private final CSRGraph graph;
+    private final Metrics metrics;
+    private final CondensationBuilder condensationBuilder;
+
+    public SchedulingPipeline(CSRGraph graph, Metrics metrics) {
+        this(graph, metrics, CondensationBuilder.DEFAULT);
+    }
+
+    public SchedulingPipeline(CSRGraph graph, Metrics metrics, CondensationBuilder condensationBuilder) {
+        this.graph = graph;
+        this.metrics = metrics;
+        this.condensationBuilder = condensationBuilder;
+    }
+
+    /**
+     * Runs every stage, with shortest paths taken from the component of the source vertex.
+     */
+    public PipelineResult run(int source) {
+        if (source < 0 || source >= graph.n) {
+            throw new IllegalArgumentException("Source " + source + " is outside 0.." + (graph.n - 1));
+        }
+        Map<String, Long> stageTimes = new LinkedHashMap<>();
+
+        long start = System.nanoTime();
+        CSRTarjanSCC tarjan = new CSRTarjanSCC(graph, metrics, condensationBuilder);
+        int[] componentId = tarjan.findComponentIds();
+        int componentCount = tarjan.getComponentCount();
+        start = endStage(STAGE_SCC, start, stageTimes);
+
+        CSRGraph condensation = condensationBuilder.buildCSR(graph, componentId, componentCount);
+        double[] componentCost = condensationBuilder.componentCosts(graph, componentId, componentCount);
+        start = endStage(STAGE_CONDENSATION, start, stageTimes);
+
+        // Reverse Tarjan numbering is a topological order; group tasks by it with a counting sort
+        int[] componentOrder = new int[componentCount];
+        for (int i = 0; i < componentCount; i++) {
+            componentOrder[i] = componentCount - 1 - i;
+        }
+        int[] positionStart = new int[componentCount]; // component -> first index in taskOrder
+        for (int v = 0; v < graph.n; v++) {
+            positionStart[componentId[v]]++;
+        }
+        int next = 0;
+        for (int c = componentCount - 1; c >= 0; c--) {
+            int size = positionStart[c];
+            positionStart[c] = next;
+            next += size;
+        }
+        int[] cursor = Arrays.copyOf(positionStart, componentCount);
+        int[] taskOrder = new int[graph.n];
+        for (int v = 0; v < graph.n; v++) {
+            taskOrder[cursor[componentId[v]]++] = v;
+        }
+        start = endStage(STAGE_TOPOLOGICAL_ORDER, start, stageTimes);
+
+        PreparedDag dag = new PreparedDag(condensation, componentOrder, metrics);
+        int sourceComponent = componentId[source];
+        ShortestPathResult shortestPaths = dag.shortestPath(sourceComponent);
+        start = endStage(STAGE_SHORTEST_PATHS, start, stageTimes);
+
+        // Charge collapsed cycles their internal cost when the builder computes one
+        double[] nodeWeights = condensationBuilder.getCost() == CondensationBuilder.ComponentCost.NONE ? null : componentCost;
+        CriticalPathResult criticalPath = new CriticalPathEngine(dag, nodeWeights, metrics).compute();
+        endStage(STAGE_CRITICAL_PATH, start, stageTimes);
+
+        return new PipelineResult(componentId, componentCount, condensation, componentCost, componentOrder, taskOrder,
+                positionStart, sourceComponent, shortestPaths, criticalPath, stageTimes);
+    }
+
+    private long endStage(String stage, long start, Map<String, Long> stageTimes) {
+        long end = System.nanoTime();
+        stageTimes.put(stage, end - start);
+        metrics.endPhase(stage, start);
+        return end;
+    }
+}
@@ -0,0 +1,173 @@
+package graph.scc;
+
+import graph.CSRGraph;
+import graph.Graph;
+import graph.Metrics;
+import java.util.*;
+
+/**
+ * Tarjan's algorithm running directly on a {@link CSRGraph}.
+ * The DFS uses an explicit int call stack instead of recursion, so graph
+ * depth is limited only by heap size, not by the thread stack.
+ */
+public class CSRTarjanSCC {
+    private final CSRGraph graph;
+    private final Metrics metrics;
+    private final CondensationBuilder condensationBuilder;
+
+    // Tarjan algorithm state
+    private int index;
+    private int[] indices;
+    private int[] lowLinks;
+    private boolean[] onStack;
+    private int[] stack;
+    private int stackSize;
+    private int[] callStack; // DFS path, replaces the recursion
+    private int[] edgePos; // vertex -> next out-edge to explore
+    private int[] componentId;
+    private int componentCount;
+    private int[] popped; // vertices in pop order, grouped by component
+    private int[] componentStart; // component -> first index in popped
+    private int poppedCount;
+    private long visits;
+
+    public CSRTarjanSCC(CSRGraph graph, Metrics metrics) {
+        this(graph, metrics, CondensationBuilder.DEFAULT);
+    }
+
+    public CSRTarjanSCC(CSRGraph graph, Metrics metrics, CondensationBuilder condensationBuilder) {
+        this.graph = graph;
+        this.metrics = metrics;
+        this.condensationBuilder = condensationBuilder;
+    }
+
+    public SCCResult findSCCs() {
+        findComponentIds();
+        return buildResult();
+    }
+
+    /**
+     * Runs the DFS only and returns the vertex-to-component mapping, without
+     * building component lists or the condensation graph. Components are
+     * numbered in reverse topological order: every condensation edge goes
+     * from a higher ID to a lower one.
+     */
+    public int[] findComponentIds() {
+        int n = graph.n;
+        index = 0;
+        indices = new int[n];
+        Arrays.fill(indices, -1);
+        lowLinks = new int[n];
+        onStack = new boolean[n];
+        stack = new int[n];
+        stackSize = 0;
+        callStack = new int[n];
+        edgePos = new int[n];
+        componentId = new int[n];
+        componentCount = 0;
+        popped = new int[n];
+        componentStart = new int[n + 1];
+        poppedCount = 0;
+        visits = 0;
+
+        metrics.startTimer();
+
+        for (int v = 0; v < n; v++) {
+            if (indices[v] == -1) {
+                strongConnect(v);
+            }
+        }
+
+        metrics.stopTimer();
+        metrics.addDfsVisits(visits);
+
+        return componentId;
+    }
+
+    /**
+     * Returns the number of components found by the last run.
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    private void strongConnect(int root) {
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+
+        int depth = 0;
+        callStack[0] = root;
+        visit(root);
+
+        while (depth >= 0) {
+            int v = callStack[depth];
+
+            if (edgePos[v] < offsets[v + 1]) {
+                visits++; // Count edge exploration
+
+                int w = targets[edgePos[v]++];
+                if (indices[w] == -1) {
+                    // Descend into w; v resumes from edgePos[v] afterwards
+                    visit(w);
+                    callStack[++depth] = w;
+                } else if (onStack[w]) {
+                    lowLinks[v] = Math.min(lowLinks[v], indices[w]);
+                }
+                continue;
+            }
+
+            // All successors of v are done: close v and return to its caller
+            finish(v);
+            depth--;
+            if (depth >= 0) {
+                int parent = callStack[depth];
+                lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[v]);
+            }
+        }
+    }
+
+    private void visit(int v) {
+        visits++;
+
+        indices[v] = index;
+        lowLinks[v] = index;
+        index++;
+        stack[stackSize++] = v;
+        onStack[v] = true;
+        edgePos[v] = graph.offsets[v];
+    }
+
+    private void finish(int v) {
+        // If v is a root node, pop its component off the stack
+        if (lowLinks[v] == indices[v]) {
+            componentStart[componentCount] = poppedCount;
+            int w;
+            do {
+                w = stack[--stackSize];
+                onStack[w] = false;
+                componentId[w] = componentCount;
+                popped[poppedCount++] = w;
+            } while (w != v);
+            componentCount++;
+        }
+    }
+
+    private SCCResult buildResult() {
+        componentStart[componentCount] = poppedCount;
+
+        List<List<Integer>> components = new ArrayList<>(componentCount);
+        for (int c = 0; c < componentCount; c++) {
+            List<Integer> component = new ArrayList<>(componentStart[c + 1] - componentStart[c]);
+            for (int i = componentStart[c]; i < componentStart[c + 1]; i++) {
+                component.add(popped[i]);
+            }
+            components.add(component);
+        }
+
+        Graph condensation = condensationBuilder.build(graph, componentId, componentCount);
+
+        double[] cost = condensationBuilder.componentCosts(graph, componentId, componentCount);
+
+        return new SCCResult(components, condensation, componentId, cost);
+    }
+}
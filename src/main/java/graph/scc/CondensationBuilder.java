@@ -0,0 +1,308 @@
+package graph.scc;
+
+import graph.CSRGraph;
+import graph.Graph;
+import graph.topo.ComponentGraph;
+import graph.topo.ComponentOrdering;
+import java.util.*;
+
+/**
+ * Builds the condensation DAG of a graph from its vertex-to-component mapping.
+ * Parallel edges between two components are detected with a per-component
+ * "last seen" stamp array, so no per-edge keys or sets are allocated.
+ */
+public class CondensationBuilder {
+
+    /**
+     * How the weights of several edges between the same pair of components are merged.
+     */
+    public enum EdgeMerge {
+        /** Keep the weight of the first edge found (lowest source vertex). */
+        FIRST,
+        /** Keep the smallest weight. */
+        MIN,
+        /** Keep the largest weight; the right choice for critical-path analysis. */
+        MAX,
+        /** Add all weights together. */
+        SUM;
+
+        /**
+         * Merges the weight of another parallel edge into the current weight.
+         */
+        public double combine(double current, double next) {
+            switch (this) {
+                case MIN:
+                    return Math.min(current, next);
+                case MAX:
+                    return Math.max(current, next);
+                case SUM:
+                    return current + next;
+                case FIRST:
+                default:
+                    return current;
+            }
+        }
+    }
+
+    /**
+     * How the edges inside a component are turned into a cost for the
+     * component's condensation node, so that collapsing a cycle does not
+     * throw its work away.
+     */
+    public enum ComponentCost {
+        /** No cost; every component weighs 0. */
+        NONE,
+        /** Sum of the weights of all edges inside the component. */
+        SUM,
+        /**
+         * Longest path inside the component once the edges broken by the
+         * greedy feedback arc set order are dropped. A heuristic lower bound
+         * on the longest simple path, computed in O(k + m) per component.
+         */
+        MAX_PATH
+    }
+
+    public static final CondensationBuilder DEFAULT = new CondensationBuilder(EdgeMerge.FIRST);
+
+    private final EdgeMerge merge;
+    private final ComponentCost cost;
+
+    public CondensationBuilder(EdgeMerge merge) {
+        this(merge, ComponentCost.NONE);
+    }
+
+    public CondensationBuilder(EdgeMerge merge, ComponentCost cost) {
+        this.merge = merge;
+        this.cost = cost;
+    }
+
+    public EdgeMerge getMerge() {
+        return merge;
+    }
+
+    public ComponentCost getCost() {
+        return cost;
+    }
+
+    /**
+     * Computes the internal cost of every component of an adjacency-list graph.
+     */
+    public double[] componentCosts(Graph graph, int[] componentId, int componentCount) {
+        switch (cost) {
+            case SUM:
+                double[] result = new double[componentCount];
+                for (int u = 0; u < graph.n; u++) {
+                    for (graph.Edge edge : graph.getEdges(u)) {
+                        if (componentId[edge.v] == componentId[u]) {
+                            result[componentId[u]] += edge.w;
+                        }
+                    }
+                }
+                return result;
+            case MAX_PATH:
+                return componentCosts(CSRGraph.fromGraphWithIncoming(graph), componentId, componentCount);
+            case NONE:
+            default:
+                return new double[componentCount];
+        }
+    }
+
+    /**
+     * Computes the internal cost of every component of a CSR graph.
+     */
+    public double[] componentCosts(CSRGraph graph, int[] componentId, int componentCount) {
+        double[] result = new double[componentCount];
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        double[] weights = graph.weights;
+        switch (cost) {
+            case SUM:
+                for (int u = 0; u < graph.n; u++) {
+                    for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                        if (componentId[targets[e]] == componentId[u]) {
+                            result[componentId[u]] += weights[e];
+                        }
+                    }
+                }
+                return result;
+            case MAX_PATH:
+                return maxPathCosts(graph, componentId, componentCount);
+            case NONE:
+            default:
+                return result;
+        }
+    }
+
+    /**
+     * Orders each cyclic component with the greedy feedback arc set
+     * heuristic, keeps only the internal edges that point forward in that
+     * order, and takes the longest path of the resulting DAG.
+     */
+    private double[] maxPathCosts(CSRGraph graph, int[] componentId, int componentCount) {
+        double[] result = new double[componentCount];
+        Scratch scratch = new Scratch(graph.n, componentId, componentCount);
+        ComponentGraph view = new ComponentGraph(graph, componentId);
+        int[] local = view.localIndex;
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        double[] weights = graph.weights;
+        double[] best = new double[graph.n]; // longest internal path ending at each vertex
+
+        for (int c = 0; c < componentCount; c++) {
+            if (scratch.start[c + 1] - scratch.start[c] < 2) {
+                continue;
+            }
+            int[] order = ComponentOrdering.GREEDY_FAS.order(view,
+                    Arrays.copyOfRange(scratch.members, scratch.start[c], scratch.start[c + 1]));
+            for (int i = 0; i < order.length; i++) {
+                local[order[i]] = i;
+                best[order[i]] = 0.0;
+            }
+            double longest = 0.0;
+            for (int u : order) {
+                longest = Math.max(longest, best[u]);
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    if (componentId[v] == c && local[v] > local[u]) {
+                        best[v] = Math.max(best[v], best[u] + weights[e]);
+                    }
+                }
+            }
+            result[c] = longest;
+        }
+        return result;
+    }
+
+    /**
+     * Builds the condensation graph of an adjacency-list graph.
+     */
+    public Graph build(Graph graph, int[] componentId, int componentCount) {
+        Graph condensation = new Graph(componentCount, true);
+        Scratch scratch = new Scratch(graph.n, componentId, componentCount);
+
+        for (int cu = 0; cu < componentCount; cu++) {
+            for (int i = scratch.start[cu]; i < scratch.start[cu + 1]; i++) {
+                for (graph.Edge edge : graph.getEdges(scratch.members[i])) {
+                    scratch.accept(cu, componentId[edge.v], edge.w);
+                }
+            }
+            scratch.flush(condensation, cu);
+        }
+        return condensation;
+    }
+
+    /**
+     * Builds the condensation graph of a CSR graph.
+     */
+    public Graph build(CSRGraph graph, int[] componentId, int componentCount) {
+        Graph condensation = new Graph(componentCount, true);
+        Scratch scratch = new Scratch(graph.n, componentId, componentCount);
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        double[] weights = graph.weights;
+
+        for (int cu = 0; cu < componentCount; cu++) {
+            for (int i = scratch.start[cu]; i < scratch.start[cu + 1]; i++) {
+                int u = scratch.members[i];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    scratch.accept(cu, componentId[targets[e]], weights[e]);
+                }
+            }
+            scratch.flush(condensation, cu);
+        }
+        return condensation;
+    }
+
+    /**
+     * Builds the condensation graph of a CSR graph directly in CSR form.
+     * Components are emitted in ID order, so no second sort is needed.
+     */
+    public CSRGraph buildCSR(CSRGraph graph, int[] componentId, int componentCount) {
+        Scratch scratch = new Scratch(graph.n, componentId, componentCount);
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        double[] weights = graph.weights;
+
+        int[] condensationOffsets = new int[componentCount + 1];
+        int[] condensationTargets = new int[Math.max(16, componentCount)];
+        double[] condensationWeights = new double[condensationTargets.length];
+        int edges = 0;
+
+        for (int cu = 0; cu < componentCount; cu++) {
+            for (int i = scratch.start[cu]; i < scratch.start[cu + 1]; i++) {
+                int u = scratch.members[i];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    scratch.accept(cu, componentId[targets[e]], weights[e]);
+                }
+            }
+            if (edges + scratch.touchedCount > condensationTargets.length) {
+                int capacity = Math.max(edges + scratch.touchedCount, condensationTargets.length * 2);
+                condensationTargets = Arrays.copyOf(condensationTargets, capacity);
+                condensationWeights = Arrays.copyOf(condensationWeights, capacity);
+            }
+            for (int i = 0; i < scratch.touchedCount; i++) {
+                int cv = scratch.touched[i];
+                condensationTargets[edges] = cv;
+                condensationWeights[edges] = scratch.weight[cv];
+                edges++;
+            }
+            scratch.touchedCount = 0;
+            condensationOffsets[cu + 1] = edges;
+        }
+        return new CSRGraph(componentCount, condensationOffsets, condensationTargets, condensationWeights);
+    }
+
+    /**
+     * Working arrays for one build: vertices grouped by component plus the
+     * stamp, weight and target buffers for the component being processed.
+     */
+    private final class Scratch {
+        final int[] members; // vertices sorted by component, ascending within each
+        final int[] start; // component -> first index in members
+        final int[] lastSeen; // target component -> last source component that reached it
+        final double[] weight; // target component -> merged weight for the current source
+        final int[] touched; // target components of the current source, in first-seen order
+        int touchedCount;
+
+        Scratch(int n, int[] componentId, int componentCount) {
+            start = new int[componentCount + 1];
+            for (int v = 0; v < n; v++) {
+                start[componentId[v] + 1]++;
+            }
+            for (int c = 0; c < componentCount; c++) {
+                start[c + 1] += start[c];
+            }
+            int[] cursor = Arrays.copyOf(start, componentCount);
+            members = new int[n];
+            for (int v = 0; v < n; v++) {
+                members[cursor[componentId[v]]++] = v;
+            }
+
+            lastSeen = new int[componentCount];
+            Arrays.fill(lastSeen, -1);
+            weight = new double[componentCount];
+            touched = new int[componentCount];
+        }
+
+        void accept(int cu, int cv, double w) {
+            if (cv == cu) {
+                return;
+            }
+            if (lastSeen[cv] != cu) {
+                lastSeen[cv] = cu;
+                weight[cv] = w;
+                touched[touchedCount++] = cv;
+                return;
+            }
+            weight[cv] = merge.combine(weight[cv], w);
+        }
+
+        void flush(Graph condensation, int cu) {
+            for (int i = 0; i < touchedCount; i++) {
+                int cv = touched[i];
+                condensation.addEdge(cu, cv, weight[cv]);
+            }
+            touchedCount = 0;
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package graph.scc;
+
+import graph.Graph;
+import graph.topo.KahnTopologicalSort;
+import graph.topo.RegionSearch;
+import graph.Metrics;
+import java.util.*;
+
+/**
+ * Maintains strongly connected components under edge insertions.
+ *
+ * The condensation DAG is kept together with a topological index per
+ * component. An edge that agrees with that order only appends to the
+ * adjacency. An edge that contradicts it triggers two bounded searches,
+ * following Pearce-Kelly and Haeupler et al.: forward from the head through
+ * components ordered no later than the tail, and backward from the tail
+ * through components ordered no earlier than the head. If the forward search
+ * reaches the tail, the components found by both searches form a new cycle
+ * and are merged; the affected components are then renumbered within the
+ * index slots they already held. Work is proportional to the region between
+ * the two endpoints, not to the whole graph.
+ *
+ * Adjacency entries are component IDs as of insertion time and are resolved
+ * through a union-find over merged components. When a list fills up it is
+ * compacted before it grows: entries are resolved, edges that became internal
+ * to a merged component are dropped and parallel edges are combined with the
+ * merge policy. A merge compacts the merged component's lists right away.
+ * Repeated insertions therefore cost amortized O(1) space and the lists stay
+ * bounded by the condensation's edge count.
+ *
+ * Component IDs are the IDs of the seed result; a merged component keeps
+ * the ID of its largest part. {@link #toSCCResult()} produces a compact
+ * snapshot in the same shape as {@link TarjanSCC}.
+ */
+public class IncrementalSCC {
+    private final int[] componentId; // vertex -> live component
+    private final int[] parent; // union-find over component IDs, for stale adjacency entries
+    private final int[] order; // live component -> topological index (gaps allowed)
+    private final int[][] members;
+    private final int[] memberCount;
+    private final int[][] out;
+    private final double[][] outWeight;
+    private final int[] outCount;
+    private final int[][] in;
+    private final int[] inCount;
+    private final CondensationBuilder.EdgeMerge merge;
+    private int liveCount;
+
+    private final RegionSearch search;
+
+    // Compaction scratch, stamped per list instead of cleared
+    private final int[] seen;
+    private final int[] slot;
+    private int seenStamp;
+
+    public IncrementalSCC(Graph graph) {
+        this(SCC.computeSCC(graph), CondensationBuilder.EdgeMerge.FIRST);
+    }
+
+    public IncrementalSCC(SCCResult seed) {
+        this(seed, CondensationBuilder.EdgeMerge.FIRST);
+    }
+
+    /**
+     * Seeds the structure from an SCC result. Parallel condensation edges
+     * created by later insertions are merged with the given policy.
+     */
+    public IncrementalSCC(SCCResult seed, CondensationBuilder.EdgeMerge merge) {
+        int n = seed.componentId.length;
+        int count = seed.getComponentCount();
+        this.merge = merge;
+        this.liveCount = count;
+        this.componentId = Arrays.copyOf(seed.componentId, n);
+        this.parent = new int[count];
+        this.order = new int[count];
+        this.members = new int[count][];
+        this.memberCount = new int[count];
+        this.out = new int[count][];
+        this.outWeight = new double[count][];
+        this.outCount = new int[count];
+        this.in = new int[count][];
+        this.inCount = new int[count];
+        this.search = new RegionSearch(count);
+        this.seen = new int[count];
+        this.slot = new int[count];
+
+        for (int c = 0; c < count; c++) {
+            parent[c] = c;
+            List<Integer> component = seed.components.get(c);
+            members[c] = new int[component.size()];
+            for (int i = 0; i < component.size(); i++) {
+                members[c][i] = component.get(i);
+            }
+            memberCount[c] = component.size();
+            out[c] = new int[4];
+            outWeight[c] = new double[4];
+            in[c] = new int[4];
+        }
+
+        Graph condensation = seed.condensationGraph;
+        for (int c = 0; c < count; c++) {
+            for (graph.Edge edge : condensation.getEdges(c)) {
+                appendOut(c, edge.v, edge.w);
+                appendIn(edge.v, c);
+            }
+        }
+
+        int[] topo = new KahnTopologicalSort(condensation, Metrics.NOOP).computeOrder();
+        if (topo.length != count) {
+            throw new IllegalArgumentException("Seed condensation graph is not a DAG");
+        }
+        for (int i = 0; i < topo.length; i++) {
+            order[topo[i]] = i;
+        }
+    }
+
+    /**
+     * Returns the component that currently contains the vertex.
+     */
+    public int componentOf(int vertex) {
+        return componentId[vertex];
+    }
+
+    /**
+     * Returns the vertex-to-component mapping, updated in place by insertions.
+     * Callers must not modify it.
+     */
+    public int[] getComponentId() {
+        return componentId;
+    }
+
+    /**
+     * Returns the number of live components.
+     */
+    public int getComponentCount() {
+        return liveCount;
+    }
+
+    /**
+     * Returns the members of a live component.
+     */
+    public int[] getMembers(int component) {
+        return Arrays.copyOf(members[component], memberCount[component]);
+    }
+
+    /**
+     * Returns true if the two vertices are in the same component.
+     */
+    public boolean stronglyConnected(int u, int v) {
+        return componentId[u] == componentId[v];
+    }
+
+    public boolean addEdge(int u, int v) {
+        return addEdge(u, v, 1.0);
+    }
+
+    /**
+     * Inserts the edge u -> v. Returns true if it closed a cycle and merged components.
+     */
+    public boolean addEdge(int u, int v, double w) {
+        int cu = componentId[u];
+        int cv = componentId[v];
+        if (cu == cv) {
+            return false; // Edge inside a component changes nothing
+        }
+        appendOut(cu, cv, w);
+        appendIn(cv, cu);
+        if (order[cu] < order[cv]) {
+            return false; // Already consistent with the topological order
+        }
+
+        search.nextInsertion();
+        boolean cycle = searchForward(cv, cu);
+        searchBackward(cu, order[cv]);
+
+        if (!cycle) {
+            reorder(null, 0);
+            return false;
+        }
+
+        // Components reachable from cv that also reach cu lie on the new cycle
+        int[] cycleMembers = new int[Math.min(search.forwardSize(), search.backwardSize())];
+        int cycleSize = 0;
+        for (int i = 0; i < search.forwardSize(); i++) {
+            int c = search.forwardAt(i);
+            if (search.inBackward(c)) {
+                cycleMembers[cycleSize++] = c;
+            }
+        }
+        reorder(cycleMembers, cycleSize);
+        return true;
+    }
+
+    /**
+     * Collects components reachable from start whose index does not exceed the
+     * tail's. Returns true if the tail itself was reached.
+     */
+    private boolean searchForward(int start, int tail) {
+        int bound = order[tail];
+        search.startForward(start);
+        boolean reached = false;
+
+        while (search.hasNext()) {
+            int c = search.nextForward();
+            if (c == tail) {
+                reached = true;
+                continue; // Nothing beyond the tail can lie on the cycle
+            }
+            for (int i = 0; i < outCount[c]; i++) {
+                int d = find(out[c][i]);
+                if (d != c && order[d] <= bound) {
+                    search.visitForward(d);
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Collects components that reach start and whose index is not below the bound.
+     */
+    private void searchBackward(int start, int bound) {
+        search.startBackward(start);
+
+        while (search.hasNext()) {
+            int c = search.nextBackward();
+            for (int i = 0; i < inCount[c]; i++) {
+                int d = find(in[c][i]);
+                if (d != c && order[d] >= bound) {
+                    search.visitBackward(d);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reassigns the index slots held by the searched components: backward-only
+     * components first, then the merged cycle (if any), then forward-only ones,
+     * each group keeping its previous relative order.
+     */
+    private void reorder(int[] cycleMembers, int cycleSize) {
+        int forwardSize = search.forwardSize();
+        int backwardSize = search.backwardSize();
+        int total = forwardSize + backwardSize - cycleSize;
+        int[] slots = new int[total];
+        int[] before = new int[backwardSize - cycleSize];
+        int[] after = new int[forwardSize - cycleSize];
+        int slotCount = 0;
+        int beforeCount = 0;
+        int afterCount = 0;
+
+        for (int i = 0; i < backwardSize; i++) {
+            int c = search.backwardAt(i);
+            slots[slotCount++] = order[c];
+            if (!search.inForward(c)) {
+                before[beforeCount++] = c;
+            }
+        }
+        for (int i = 0; i < forwardSize; i++) {
+            int c = search.forwardAt(i);
+            if (!search.inBackward(c)) {
+                slots[slotCount++] = order[c];
+                after[afterCount++] = c;
+            }
+        }
+        Arrays.sort(slots);
+        RegionSearch.sortByKey(before, beforeCount, order);
+        RegionSearch.sortByKey(after, afterCount, order);
+
+        int next = 0;
+        for (int c : before) {
+            order[c] = slots[next++];
+        }
+        if (cycleSize > 0) {
+            int merged = mergeComponents(cycleMembers, cycleSize);
+            order[merged] = slots[next];
+            next += cycleSize; // The other cycle members' slots stay unused
+        }
+        for (int c : after) {
+            order[c] = slots[next++];
+        }
+    }
+
+    /**
+     * Merges the components into the one with the most members and returns it.
+     */
+    private int mergeComponents(int[] components, int size) {
+        int root = components[0];
+        for (int i = 1; i < size; i++) {
+            if (memberCount[components[i]] > memberCount[root]) {
+                root = components[i];
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            int c = components[i];
+            if (c == root) {
+                continue;
+            }
+            parent[c] = root;
+            for (int j = 0; j < memberCount[c]; j++) {
+                int vertex = members[c][j];
+                componentId[vertex] = root;
+                members[root] = RegionSearch.grow(members[root], memberCount[root] + 1);
+                members[root][memberCount[root]++] = vertex;
+            }
+            for (int j = 0; j < outCount[c]; j++) {
+                appendOut(root, out[c][j], outWeight[c][j]);
+            }
+            for (int j = 0; j < inCount[c]; j++) {
+                appendIn(root, in[c][j]);
+            }
+            members[c] = null;
+            out[c] = null;
+            outWeight[c] = null;
+            in[c] = null;
+            memberCount[c] = 0;
+            outCount[c] = 0;
+            inCount[c] = 0;
+            liveCount--;
+        }
+        // Edges between the merged parts are now internal, and edges to a common neighbor parallel
+        compactOut(root);
+        compactIn(root);
+        return root;
+    }
+
+    /**
+     * Builds a compact SCC result of the current state. Components are numbered
+     * in reverse topological order, as Tarjan's algorithm numbers them.
+     */
+    public SCCResult toSCCResult() {
+        int count = parent.length;
+        long[] keyed = new long[liveCount];
+        int live = 0;
+        for (int c = 0; c < count; c++) {
+            if (parent[c] == c) {
+                keyed[live++] = ((long) order[c] << 32) | c;
+            }
+        }
+        Arrays.sort(keyed);
+
+        int[] compact = new int[count];
+        int[] byCompact = new int[live];
+        for (int i = 0; i < live; i++) {
+            int c = (int) keyed[i];
+            compact[c] = live - 1 - i;
+            byCompact[live - 1 - i] = c;
+        }
+
+        List<List<Integer>> components = new ArrayList<>(live);
+        int[] vertexComponent = new int[componentId.length];
+        Graph condensation = new Graph(live, true);
+        int[] lastSeen = new int[live];
+        Arrays.fill(lastSeen, -1);
+        double[] weight = new double[live];
+        int[] touched = new int[live];
+
+        for (int id = 0; id < live; id++) {
+            int c = byCompact[id];
+            List<Integer> component = new ArrayList<>(memberCount[c]);
+            for (int j = 0; j < memberCount[c]; j++) {
+                component.add(members[c][j]);
+                vertexComponent[members[c][j]] = id;
+            }
+            components.add(component);
+
+            int touchedCount = 0;
+            for (int j = 0; j < outCount[c]; j++) {
+                int d = find(out[c][j]);
+                if (d == c) {
+                    continue;
+                }
+                int target = compact[d];
+                if (lastSeen[target] != id) {
+                    lastSeen[target] = id;
+                    weight[target] = outWeight[c][j];
+                    touched[touchedCount++] = target;
+                } else {
+                    weight[target] = merge.combine(weight[target], outWeight[c][j]);
+                }
+            }
+            for (int j = 0; j < touchedCount; j++) {
+                condensation.addEdge(id, touched[j], weight[touched[j]]);
+            }
+        }
+
+        return new SCCResult(components, condensation, vertexComponent);
+    }
+
+    private int find(int c) {
+        int root = c;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[c] != root) {
+            int next = parent[c];
+            parent[c] = root;
+            c = next;
+        }
+        return root;
+    }
+
+    private void appendOut(int c, int target, double w) {
+        if (outCount[c] == out[c].length) {
+            compactOut(c);
+            if (outCount[c] > out[c].length / 2) {
+                out[c] = Arrays.copyOf(out[c], out[c].length * 2);
+                outWeight[c] = Arrays.copyOf(outWeight[c], out[c].length);
+            }
+        }
+        out[c][outCount[c]] = target;
+        outWeight[c][outCount[c]] = w;
+        outCount[c]++;
+    }
+
+    private void appendIn(int c, int source) {
+        if (inCount[c] == in[c].length) {
+            compactIn(c);
+            if (inCount[c] > in[c].length / 2) {
+                in[c] = Arrays.copyOf(in[c], in[c].length * 2);
+            }
+        }
+        in[c][inCount[c]++] = source;
+    }
+
+    /**
+     * Resolves the out-list of c in place, dropping internal edges and combining
+     * parallel ones in first-seen order, as {@link #toSCCResult()} would.
+     */
+    private void compactOut(int c) {
+        seenStamp++;
+        int size = 0;
+        for (int j = 0; j < outCount[c]; j++) {
+            int d = find(out[c][j]);
+            if (d == c) {
+                continue;
+            }
+            if (seen[d] != seenStamp) {
+                seen[d] = seenStamp;
+                slot[d] = size;
+                out[c][size] = d;
+                outWeight[c][size] = outWeight[c][j];
+                size++;
+            } else {
+                outWeight[c][slot[d]] = merge.combine(outWeight[c][slot[d]], outWeight[c][j]);
+            }
+        }
+        outCount[c] = size;
+    }
+
+    /**
+     * Resolves the in-list of c in place, dropping internal and duplicate sources.
+     */
+    private void compactIn(int c) {
+        seenStamp++;
+        int size = 0;
+        for (int j = 0; j < inCount[c]; j++) {
+            int d = find(in[c][j]);
+            if (d != c && seen[d] != seenStamp) {
+                seen[d] = seenStamp;
+                in[c][size++] = d;
+            }
+        }
+        inCount[c] = size;
+    }
+
+    /**
+     * Returns the number of adjacency entries currently stored for a live
+     * component, counting out- and in-lists. Stale entries that have not been
+     * compacted yet are included.
+     */
+    int adjacencySize(int component) {
+        return outCount[component] + inCount[component];
+    }
+}
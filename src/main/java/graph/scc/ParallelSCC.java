@@ -0,0 +1,336 @@
+package graph.scc;
+
+import graph.CSRGraph;
+import graph.Graph;
+import graph.InEdgeIndex;
+import graph.Metrics;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parallel strongly connected components using Forward-Backward-Trim.
+ * Vertices without active predecessors or successors are first trimmed
+ * off as singleton components. The rest is split recursively: the
+ * vertices both reachable from a pivot and reaching it form one SCC, and
+ * the forward-only, backward-only and unreached parts are independent
+ * subproblems handled as separate fork/join tasks. Subproblems below the
+ * sequential threshold are finished with an iterative Tarjan restricted
+ * to their vertices. Small graphs go straight to {@link CSRTarjanSCC}.
+ */
+public class ParallelSCC {
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 50_000;
+
+    private static final int TRIMMED = -1;
+
+    private final CSRGraph graph;
+    private final Metrics metrics;
+    private final int threads;
+    private final int sequentialThreshold;
+    private final CondensationBuilder condensationBuilder;
+
+    // Shared state; each task writes only the vertices of its own subproblem
+    private InEdgeIndex incoming;
+    private int[] componentId;
+    private int[] part; // vertex -> label of the subproblem that owns it
+    private int[] forwardMark; // vertex -> label of the last forward search that reached it
+    private int[] backwardMark;
+    private int[] tarjanIndex;
+    private int[] tarjanLowLink;
+    private int[] edgePos;
+    private AtomicInteger nextComponent;
+    private AtomicInteger nextLabel;
+    private LongAdder visits;
+
+    public ParallelSCC(CSRGraph graph, Metrics metrics, int threads) {
+        this(graph, metrics, threads, DEFAULT_SEQUENTIAL_THRESHOLD, CondensationBuilder.DEFAULT);
+    }
+
+    public ParallelSCC(CSRGraph graph, Metrics metrics, int threads, int sequentialThreshold,
+                       CondensationBuilder condensationBuilder) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        this.graph = graph;
+        this.metrics = metrics;
+        this.threads = threads;
+        this.sequentialThreshold = sequentialThreshold;
+        this.condensationBuilder = condensationBuilder;
+    }
+
+    public SCCResult findSCCs() {
+        if (threads == 1 || graph.n < sequentialThreshold) {
+            return new CSRTarjanSCC(graph, metrics, condensationBuilder).findSCCs();
+        }
+
+        int n = graph.n;
+        incoming = graph.incoming();
+        componentId = new int[n];
+        Arrays.fill(componentId, -1);
+        part = new int[n];
+        forwardMark = new int[n];
+        backwardMark = new int[n];
+        Arrays.fill(forwardMark, -1);
+        Arrays.fill(backwardMark, -1);
+        tarjanIndex = new int[n];
+        tarjanLowLink = new int[n];
+        edgePos = new int[n];
+        nextComponent = new AtomicInteger();
+        nextLabel = new AtomicInteger(1);
+        visits = new LongAdder();
+
+        metrics.startTimer();
+
+        int[] remaining = trim();
+        if (remaining.length > 0) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                pool.invoke(new ForwardBackwardTask(remaining, 0));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        metrics.stopTimer();
+        metrics.addDfsVisits(visits.sum());
+
+        int componentCount = nextComponent.get();
+        Graph condensation = condensationBuilder.build(graph, componentId, componentCount);
+        double[] cost = condensationBuilder.componentCosts(graph, componentId, componentCount);
+        return new SCCResult(groupComponents(componentCount), condensation, componentId, cost);
+    }
+
+    /**
+     * Repeatedly removes vertices with no remaining predecessors or no
+     * remaining successors; each is a singleton SCC. Returns the rest.
+     */
+    private int[] trim() {
+        int n = graph.n;
+        int[] inDegree = new int[n];
+        int[] outDegree = new int[n];
+        for (int u = 0; u < n; u++) {
+            outDegree[u] = graph.outDegree(u);
+            inDegree[u] = incoming.inDegree(u);
+        }
+
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0 || outDegree[v] == 0) {
+                part[v] = TRIMMED;
+                queue[tail++] = v;
+            }
+        }
+
+        while (head < tail) {
+            int v = queue[head++];
+            componentId[v] = nextComponent.getAndIncrement();
+            visits.increment();
+
+            for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+                int w = graph.targets[e];
+                if (part[w] != TRIMMED && --inDegree[w] == 0) {
+                    part[w] = TRIMMED;
+                    queue[tail++] = w;
+                }
+            }
+            InEdgeIndex.Range predecessors = incoming.getIncoming(v);
+            for (int i = 0; i < predecessors.size(); i++) {
+                int w = predecessors.source(i);
+                if (part[w] != TRIMMED && --outDegree[w] == 0) {
+                    part[w] = TRIMMED;
+                    queue[tail++] = w;
+                }
+            }
+        }
+
+        int[] remaining = new int[n - tail];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            if (part[v] != TRIMMED) {
+                remaining[count++] = v;
+            }
+        }
+        return remaining;
+    }
+
+    private List<List<Integer>> groupComponents(int componentCount) {
+        List<List<Integer>> components = new ArrayList<>(componentCount);
+        for (int c = 0; c < componentCount; c++) {
+            components.add(new ArrayList<>());
+        }
+        for (int v = 0; v < graph.n; v++) {
+            components.get(componentId[v]).add(v);
+        }
+        return components;
+    }
+
+    /**
+     * Splits one subproblem around a pivot, or finishes it with Tarjan when small.
+     */
+    private final class ForwardBackwardTask extends RecursiveAction {
+        private final int[] vertices;
+        private final int label;
+
+        ForwardBackwardTask(int[] vertices, int label) {
+            this.vertices = vertices;
+            this.label = label;
+        }
+
+        @Override
+        protected void compute() {
+            if (vertices.length < sequentialThreshold) {
+                restrictedTarjan();
+                return;
+            }
+
+            int pivot = vertices[vertices.length / 2];
+            search(graph.offsets, graph.targets, forwardMark, pivot);
+            search(incoming.offsets, incoming.sources, backwardMark, pivot);
+
+            int component = nextComponent.getAndIncrement();
+            int forwardCount = 0;
+            int backwardCount = 0;
+            int otherCount = 0;
+            for (int v : vertices) {
+                boolean forward = forwardMark[v] == label;
+                boolean backward = backwardMark[v] == label;
+                if (forward && backward) {
+                    componentId[v] = component;
+                } else if (forward) {
+                    forwardCount++;
+                } else if (backward) {
+                    backwardCount++;
+                } else {
+                    otherCount++;
+                }
+            }
+
+            int[] forwardOnly = new int[forwardCount];
+            int[] backwardOnly = new int[backwardCount];
+            int[] other = new int[otherCount];
+            forwardCount = 0;
+            backwardCount = 0;
+            otherCount = 0;
+            for (int v : vertices) {
+                if (componentId[v] >= 0) {
+                    continue;
+                }
+                if (forwardMark[v] == label) {
+                    forwardOnly[forwardCount++] = v;
+                } else if (backwardMark[v] == label) {
+                    backwardOnly[backwardCount++] = v;
+                } else {
+                    other[otherCount++] = v;
+                }
+            }
+
+            List<ForwardBackwardTask> subtasks = new ArrayList<>(3);
+            for (int[] subset : new int[][]{forwardOnly, backwardOnly, other}) {
+                if (subset.length > 0) {
+                    int subLabel = nextLabel.getAndIncrement();
+                    for (int v : subset) {
+                        part[v] = subLabel;
+                    }
+                    subtasks.add(new ForwardBackwardTask(subset, subLabel));
+                }
+            }
+            invokeAll(subtasks);
+        }
+
+        /**
+         * Breadth-first search from the pivot that stays inside this subproblem,
+         * over out-edges or, given the in-edge index arrays, in-edges.
+         */
+        private void search(int[] offsets, int[] neighbors, int[] mark, int pivot) {
+            int[] queue = new int[vertices.length];
+            int head = 0;
+            int tail = 0;
+            mark[pivot] = label;
+            queue[tail++] = pivot;
+            long visited = 0;
+
+            while (head < tail) {
+                int u = queue[head++];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    visited++;
+                    int w = neighbors[e];
+                    if (part[w] == label && mark[w] != label) {
+                        mark[w] = label;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+            visits.add(visited + tail);
+        }
+
+        /**
+         * Iterative Tarjan over the vertices of this subproblem only.
+         */
+        private void restrictedTarjan() {
+            int[] offsets = graph.offsets;
+            int[] targets = graph.targets;
+            int size = vertices.length;
+            int[] stack = new int[size];
+            int[] callStack = new int[size];
+            int stackSize = 0;
+            int index = 0;
+            long visited = 0;
+
+            for (int v : vertices) {
+                tarjanIndex[v] = -1;
+            }
+
+            for (int root : vertices) {
+                if (tarjanIndex[root] != -1) {
+                    continue;
+                }
+                int depth = 0;
+                callStack[0] = root;
+                tarjanIndex[root] = tarjanLowLink[root] = index++;
+                stack[stackSize++] = root;
+                edgePos[root] = offsets[root];
+                visited++;
+
+                while (depth >= 0) {
+                    int v = callStack[depth];
+                    if (edgePos[v] < offsets[v + 1]) {
+                        int w = targets[edgePos[v]++];
+                        visited++;
+                        if (part[w] != label) {
+                            continue;
+                        }
+                        if (tarjanIndex[w] == -1) {
+                            tarjanIndex[w] = tarjanLowLink[w] = index++;
+                            stack[stackSize++] = w;
+                            edgePos[w] = offsets[w];
+                            callStack[++depth] = w;
+                        } else if (componentId[w] == -1) {
+                            // Still on the stack: not yet assigned to a component
+                            tarjanLowLink[v] = Math.min(tarjanLowLink[v], tarjanIndex[w]);
+                        }
+                        continue;
+                    }
+
+                    if (tarjanLowLink[v] == tarjanIndex[v]) {
+                        int component = nextComponent.getAndIncrement();
+                        int w;
+                        do {
+                            w = stack[--stackSize];
+                            componentId[w] = component;
+                        } while (w != v);
+                    }
+                    depth--;
+                    if (depth >= 0) {
+                        int parent = callStack[depth];
+                        tarjanLowLink[parent] = Math.min(tarjanLowLink[parent], tarjanLowLink[v]);
+                    }
+                }
+            }
+            visits.add(visited);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package graph.scc;
 
+import graph.CSRGraph;
 import graph.Graph;
 import graph.Metrics;
 
@@ -8,12 +9,64 @@ import graph.Metrics;
  */
 public class SCC {
 
+    /**
+     * Available SCC implementations.
+     */
+    public enum Algorithm {
+        /** Recursive Tarjan on the adjacency lists. */
+        TARJAN,
+        /** Explicit-stack Tarjan on a CSR copy; safe for arbitrarily deep graphs. */
+        ITERATIVE_TARJAN,
+        /** Forward-Backward-Trim on all available processors; Tarjan for small graphs. */
+        PARALLEL_FW_BW
+    }
+
     public static SCCResult computeSCC(Graph graph, Metrics metrics) {
-        TarjanSCC tarjan = new TarjanSCC(graph, metrics);
-        return tarjan.findSCCs();
+        return computeSCC(graph, metrics, Algorithm.TARJAN);
+    }
+
+    public static SCCResult computeSCC(Graph graph, Metrics metrics, Algorithm algorithm) {
+        return computeSCC(graph, metrics, algorithm, CondensationBuilder.DEFAULT);
+    }
+
+    /**
+     * Computes SCCs with the given algorithm, merging parallel condensation
+     * edges as configured by the condensation builder.
+     */
+    public static SCCResult computeSCC(Graph graph, Metrics metrics, Algorithm algorithm,
+                                       CondensationBuilder condensationBuilder) {
+        switch (algorithm) {
+            case ITERATIVE_TARJAN:
+                return computeSCC(CSRGraph.fromGraph(graph), metrics, condensationBuilder);
+            case PARALLEL_FW_BW:
+                return new ParallelSCC(CSRGraph.fromGraphWithIncoming(graph), metrics,
+                        Runtime.getRuntime().availableProcessors(),
+                        ParallelSCC.DEFAULT_SEQUENTIAL_THRESHOLD, condensationBuilder).findSCCs();
+            case TARJAN:
+            default:
+                TarjanSCC tarjan = new TarjanSCC(graph, metrics, condensationBuilder);
+                return tarjan.findSCCs();
+        }
     }
 
     public static SCCResult computeSCC(Graph graph) {
         return computeSCC(graph, new Metrics());
     }
-}
\ No newline at end of file
+
+    public static SCCResult computeSCC(CSRGraph graph, Metrics metrics) {
+        return computeSCC(graph, metrics, CondensationBuilder.DEFAULT);
+    }
+
+    public static SCCResult computeSCC(CSRGraph graph, Metrics metrics, CondensationBuilder condensationBuilder) {
+        CSRTarjanSCC tarjan = new CSRTarjanSCC(graph, metrics, condensationBuilder);
+        return tarjan.findSCCs();
+    }
+
+    /**
+     * Computes SCCs with Forward-Backward-Trim on the given number of threads.
+     * Graphs below {@link ParallelSCC#DEFAULT_SEQUENTIAL_THRESHOLD} vertices use Tarjan instead.
+     */
+    public static SCCResult computeSCCParallel(CSRGraph graph, Metrics metrics, int threads) {
+        return new ParallelSCC(graph, metrics, threads).findSCCs();
+    }
+}
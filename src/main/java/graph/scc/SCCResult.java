@@ -10,11 +10,18 @@ public class SCCResult {
     public final List<List<Integer>> components;
     public final Graph condensationGraph;
     public final int[] componentId; // Maps vertex -> component ID
+    public final double[] componentCost; // Maps component ID -> internal cost, see CondensationBuilder.ComponentCost
 
     public SCCResult(List<List<Integer>> components, Graph condensationGraph, int[] componentId) {
+        this(components, condensationGraph, componentId, new double[components.size()]);
+    }
+
+    public SCCResult(List<List<Integer>> components, Graph condensationGraph, int[] componentId,
+                     double[] componentCost) {
         this.components = components;
         this.condensationGraph = condensationGraph;
         this.componentId = componentId;
+        this.componentCost = componentCost;
     }
 
     /**
@@ -10,9 +10,11 @@ import java.util.*;
 public class TarjanSCC {
     private final Graph graph;
     private final Metrics metrics;
+    private final CondensationBuilder condensationBuilder;
 
     // Tarjan algorithm state
     private int index;
+    private long visits;
     private int[] indices;
     private int[] lowLinks;
     private boolean[] onStack;
@@ -20,8 +22,13 @@ public class TarjanSCC {
     private List<List<Integer>> components;
 
     public TarjanSCC(Graph graph, Metrics metrics) {
+        this(graph, metrics, CondensationBuilder.DEFAULT);
+    }
+
+    public TarjanSCC(Graph graph, Metrics metrics, CondensationBuilder condensationBuilder) {
         this.graph = graph;
         this.metrics = metrics;
+        this.condensationBuilder = condensationBuilder;
     }
 
     public SCCResult findSCCs() {
@@ -33,6 +40,7 @@ public class TarjanSCC {
         onStack = new boolean[graph.n];
         stack = new Stack<>();
         components = new ArrayList<>();
+        visits = 0;
 
         metrics.startTimer();
 
@@ -44,13 +52,14 @@ public class TarjanSCC {
         }
 
         metrics.stopTimer();
+        metrics.addDfsVisits(visits);
 
         // Build condensation graph and component mapping
         return buildCondensationGraph();
     }
 
     private void strongConnect(int v) {
-        metrics.dfsVisits++;
+        visits++;
 
         // Set the depth index for v to the smallest unused index
         indices[v] = index;
@@ -61,7 +70,7 @@ public class TarjanSCC {
 
         // Consider successors of v
         for (graph.Edge edge : graph.getEdges(v)) {
-            metrics.dfsVisits++; // Count edge exploration
+            visits++; // Count edge exploration
 
             int w = edge.v;
             if (indices[w] == -1) {
@@ -97,28 +106,10 @@ public class TarjanSCC {
         }
 
         // Build condensation graph (DAG of components)
-        Graph condensation = new Graph(components.size(), true);
-
-        // Use a set to avoid duplicate edges between components
-        Set<String> edgesAdded = new HashSet<>();
-
-        for (int u = 0; u < graph.n; u++) {
-            for (graph.Edge edge : graph.getEdges(u)) {
-                int v = edge.v;
-                int compU = componentId[u];
-                int compV = componentId[v];
-
-                // Add edge between different components
-                if (compU != compV) {
-                    String edgeKey = compU + "->" + compV;
-                    if (!edgesAdded.contains(edgeKey)) {
-                        condensation.addEdge(compU, compV, edge.w);
-                        edgesAdded.add(edgeKey);
-                    }
-                }
-            }
-        }
+        Graph condensation = condensationBuilder.build(graph, componentId, components.size());
+
+        double[] cost = condensationBuilder.componentCosts(graph, componentId, components.size());
 
-        return new SCCResult(components, condensation, componentId);
+        return new SCCResult(components, condensation, componentId, cost);
     }
 }
\ No newline at end of file
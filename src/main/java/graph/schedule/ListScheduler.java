@@ -0,0 +1,231 @@
+package graph.schedule;
+
+import graph.CSRGraph;
+import graph.Metrics;
+import graph.topo.CSRKahnTopologicalSort;
+import java.util.*;
+
+/**
+ * Resource-constrained list scheduling of a DAG on K identical crews (HLFET).
+ *
+ * Each task's priority is its bottom level: its own duration plus the
+ * longest chain of durations after it, i.e. its distance to the end of the
+ * project along the critical path. The scheduler is event driven. Whenever a
+ * crew is free, it starts the ready task with the highest priority. When a
+ * task finishes, its crew is freed and successors whose predecessors have
+ * all finished become ready. Ready tasks, idle crews and running tasks are
+ * kept in primitive binary heaps, so a schedule costs O((V + E) log V)
+ * regardless of the crew count.
+ *
+ * Edges are precedence constraints only: a task may start once all its
+ * predecessors have finished. Edge weights are ignored; durations are given per task.
+ */
+public class ListScheduler {
+    private final CSRGraph dag;
+    private final int[] order;
+    private final double[] durations;
+    private final int crews;
+    private final Metrics metrics;
+
+    public ListScheduler(CSRGraph dag, double[] durations, int crews, Metrics metrics) {
+        this(dag, new CSRKahnTopologicalSort(dag, Metrics.NOOP).computeOrder(), durations, crews, metrics);
+    }
+
+    /**
+     * Schedules a DAG whose topological order is already known, e.g. from a
+     * {@link graph.pipeline.SchedulingPipeline} run.
+     */
+    public ListScheduler(CSRGraph dag, int[] order, double[] durations, int crews, Metrics metrics) {
+        if (order.length != dag.n) {
+            throw new IllegalArgumentException("Scheduling requires a DAG, but the graph contains a cycle");
+        }
+        if (durations.length != dag.n) {
+            throw new IllegalArgumentException("Expected " + dag.n + " durations, got " + durations.length);
+        }
+        if (crews < 1) {
+            throw new IllegalArgumentException("Crew count must be positive");
+        }
+        for (double duration : durations) {
+            if (!(duration >= 0)) {
+                throw new IllegalArgumentException("Durations must be non-negative: " + duration);
+            }
+        }
+        this.dag = dag;
+        this.order = order;
+        this.durations = durations;
+        this.crews = crews;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sums task durations per component, for scheduling a condensation DAG
+     * where the tasks of one cycle run as a single unit.
+     */
+    public static double[] componentDurations(int[] componentId, int componentCount, double[] taskDurations) {
+        double[] result = new double[componentCount];
+        for (int v = 0; v < componentId.length; v++) {
+            result[componentId[v]] += taskDurations[v];
+        }
+        return result;
+    }
+
+    /**
+     * Returns each task's bottom level: its duration plus the longest
+     * duration chain among its successors.
+     */
+    public double[] bottomLevels() {
+        int[] offsets = dag.offsets;
+        int[] targets = dag.targets;
+        double[] level = new double[dag.n];
+        for (int i = order.length - 1; i >= 0; i--) {
+            int u = order[i];
+            double tail = 0.0;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                tail = Math.max(tail, level[targets[e]]);
+            }
+            level[u] = durations[u] + tail;
+        }
+        return level;
+    }
+
+    public ScheduleResult schedule() {
+        metrics.startTimer();
+
+        int n = dag.n;
+        int[] offsets = dag.offsets;
+        int[] targets = dag.targets;
+        double[] priority = bottomLevels();
+
+        int[] waiting = new int[n]; // unfinished predecessors
+        for (int e = 0; e < dag.edgeCount(); e++) {
+            waiting[targets[e]]++;
+        }
+
+        double[] start = new double[n];
+        double[] finish = new double[n];
+        int[] crew = new int[n];
+
+        IntHeap ready = new IntHeap(n, priority, true);
+        IntHeap idle = new IntHeap(crews, null, false);
+        IntHeap running = new IntHeap(Math.min(n, crews), finish, false);
+        for (int v = 0; v < n; v++) {
+            if (waiting[v] == 0) {
+                ready.push(v);
+            }
+        }
+        for (int c = 0; c < crews; c++) {
+            idle.push(c);
+        }
+
+        long operations = 0;
+        double now = 0.0;
+        int scheduled = 0;
+        while (scheduled < n) {
+            // Start the highest-priority ready tasks on the free crews
+            while (!ready.isEmpty() && !idle.isEmpty()) {
+                int v = ready.pop();
+                int c = idle.pop();
+                start[v] = now;
+                finish[v] = now + durations[v];
+                crew[v] = c;
+                running.push(v);
+                scheduled++;
+                operations += 3;
+            }
+
+            // Advance to the next completion and release everything that ends then
+            if (running.isEmpty()) {
+                break;
+            }
+            now = finish[running.peek()];
+            while (!running.isEmpty() && finish[running.peek()] == now) {
+                int u = running.pop();
+                idle.push(crew[u]);
+                operations += 2;
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    if (--waiting[v] == 0) {
+                        ready.push(v);
+                        operations++;
+                    }
+                }
+            }
+        }
+        double makespan = now;
+        while (!running.isEmpty()) {
+            makespan = Math.max(makespan, finish[running.pop()]);
+        }
+
+        metrics.stopTimer();
+        metrics.addQueueOperations(operations);
+
+        return new ScheduleResult(start, finish, crew, makespan, crews);
+    }
+
+    /**
+     * Binary heap of ints ordered by a key array (largest or smallest first),
+     * ties broken by the smaller int. A null key array orders by the ints themselves.
+     */
+    private static final class IntHeap {
+        private final int[] heap;
+        private final double[] key;
+        private final boolean largestFirst;
+        private int size;
+
+        IntHeap(int capacity, double[] key, boolean largestFirst) {
+            this.heap = new int[Math.max(capacity, 1)];
+            this.key = key;
+            this.largestFirst = largestFirst;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int peek() {
+            return heap[0];
+        }
+
+        void push(int value) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >> 1;
+                if (!before(value, heap[parent])) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        }
+
+        int pop() {
+            int top = heap[0];
+            int value = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!before(heap[child], value)) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = value;
+            return top;
+        }
+
+        private boolean before(int a, int b) {
+            if (key != null && key[a] != key[b]) {
+                return largestFirst ? key[a] > key[b] : key[a] < key[b];
+            }
+            return a < b;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package graph.schedule;
+
+import java.util.*;
+
+/**
+ * A schedule of DAG tasks on a fixed number of crews.
+ */
+public class ScheduleResult {
+    public final double[] start; // task -> start time
+    public final double[] finish; // task -> finish time
+    public final int[] crew; // task -> crew that runs it
+    public final double makespan; // finish time of the last task
+    public final int crews;
+
+    public ScheduleResult(double[] start, double[] finish, int[] crew, double makespan, int crews) {
+        this.start = start;
+        this.finish = finish;
+        this.crew = crew;
+        this.makespan = makespan;
+        this.crews = crews;
+    }
+
+    /**
+     * Returns the tasks run by one crew, in start order.
+     */
+    public List<Integer> getCrewTasks(int crewId) {
+        List<Integer> tasks = new ArrayList<>();
+        for (int v = 0; v < crew.length; v++) {
+            if (crew[v] == crewId) {
+                tasks.add(v);
+            }
+        }
+        tasks.sort(Comparator.comparingDouble((Integer v) -> start[v]).thenComparingInt(v -> v));
+        return tasks;
+    }
+
+    /**
+     * Returns the fraction of crew time spent working, over the whole makespan.
+     */
+    public double getUtilization() {
+        if (makespan <= 0) {
+            return 0.0;
+        }
+        double busy = 0;
+        for (int v = 0; v < start.length; v++) {
+            busy += finish[v] - start[v];
+        }
+        return busy / (makespan * crews);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Schedule: %d tasks on %d crews, makespan %.2f, utilization %.1f%%",
+                start.length, crews, makespan, 100 * getUtilization());
+    }
+}
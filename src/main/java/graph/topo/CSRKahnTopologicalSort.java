@@ -0,0 +1,73 @@
+package graph.topo;
+
+import graph.CSRGraph;
+import graph.Metrics;
+import java.util.*;
+
+/**
+ * Kahn's algorithm running directly on a {@link CSRGraph}.
+ */
+public class CSRKahnTopologicalSort {
+    private final CSRGraph graph;
+    private final Metrics metrics;
+
+    public CSRKahnTopologicalSort(CSRGraph graph, Metrics metrics) {
+        this.graph = graph;
+        this.metrics = metrics;
+    }
+
+    public TopologicalSortResult topologicalSort() {
+        int[] order = computeOrder();
+        return new TopologicalSortResult(order, order);
+    }
+
+    /**
+     * Returns the topological order as an array. If the graph has a cycle the
+     * array is shorter than n and holds only the vertices that could be ordered.
+     */
+    public int[] computeOrder() {
+        metrics.startTimer();
+
+        int n = graph.n;
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        long operations = 0;
+
+        int[] inDegree = new int[n];
+        for (int e = 0; e < offsets[n]; e++) {
+            inDegree[targets[e]]++;
+        }
+        operations += offsets[n];
+
+        // Every vertex is enqueued at most once, so the queue is filled in place
+        // and the dequeued prefix is exactly the topological order
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                queue[tail++] = v;
+                operations++;
+            }
+        }
+
+        while (head < tail) {
+            int u = queue[head++];
+            operations++;
+
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                operations++;
+                if (--inDegree[v] == 0) {
+                    queue[tail++] = v;
+                    operations++;
+                }
+            }
+        }
+
+        metrics.stopTimer();
+        metrics.addQueueOperations(operations);
+
+        return tail == n ? queue : Arrays.copyOf(queue, tail);
+    }
+}
@@ -0,0 +1,53 @@
+package graph.topo;
+
+import graph.CSRGraph;
+import graph.InEdgeIndex;
+
+/**
+ * A graph split into strongly connected components, as seen by a
+ * {@link ComponentOrdering}: out-edges, the graph's shared in-edge index
+ * and the vertex-to-component mapping.
+ */
+public class ComponentGraph {
+    public final CSRGraph graph;
+    public final InEdgeIndex incoming;
+    public final int[] componentId;
+
+    /**
+     * Scratch indexed by vertex. While ordering a component, an ordering may
+     * use the entries of that component's members, e.g. for local indices;
+     * components are ordered in parallel, so other entries are off limits.
+     */
+    public final int[] localIndex;
+
+    public ComponentGraph(CSRGraph graph, int[] componentId) {
+        this.graph = graph;
+        this.incoming = graph.incoming();
+        this.componentId = componentId;
+        this.localIndex = new int[graph.n];
+    }
+
+    /**
+     * Counts the edges inside the component that point backwards in the given
+     * order of its members, i.e. the dependencies the order breaks.
+     */
+    public int backEdges(int[] order) {
+        if (order.length == 0) {
+            return 0;
+        }
+        int component = componentId[order[0]];
+        for (int i = 0; i < order.length; i++) {
+            localIndex[order[i]] = i;
+        }
+        int count = 0;
+        for (int u : order) {
+            for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+                int v = graph.targets[e];
+                if (componentId[v] == component && localIndex[v] <= localIndex[u]) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,19 @@
+package graph.topo;
+
+/**
+ * Orders the tasks inside one strongly connected component, where no order
+ * can satisfy every dependency.
+ */
+public interface ComponentOrdering {
+    /** Keeps the members in the order the SCC algorithm produced them. */
+    ComponentOrdering AS_IS = (graph, members) -> members;
+
+    /** Eades-Lin-Smyth greedy feedback arc set: few broken dependencies, linear time. */
+    ComponentOrdering GREEDY_FAS = new GreedyFeedbackArcSet();
+
+    /**
+     * Returns the members of one component in execution order. May return
+     * the given array if the order does not change.
+     */
+    int[] order(ComponentGraph graph, int[] members);
+}
@@ -0,0 +1,218 @@
+package graph.topo;
+
+import graph.Graph;
+import graph.Metrics;
+import java.util.*;
+
+/**
+ * Topological order of a DAG maintained under edge insertions (Pearce-Kelly).
+ *
+ * An inserted edge u -> v that already agrees with the order is only
+ * appended. Otherwise only the affected region is searched: forward from v
+ * through vertices positioned no later than u, and backward from u through
+ * vertices positioned no earlier than v. The vertices found are then
+ * reassigned the positions they already occupy, backward set first, so the
+ * rest of the order is untouched. If the forward search reaches u the edge
+ * would close a cycle; it is rejected and the cycle is kept for inspection.
+ */
+public class DynamicTopologicalOrder {
+    private final int n;
+    private final int[] position; // vertex -> index in order
+    private final int[] order; // index -> vertex
+    private final int[][] out;
+    private final int[] outCount;
+    private final int[][] in;
+    private final int[] inCount;
+
+    private final RegionSearch search;
+    private final int[] parent; // forward search tree, for cycle reporting
+
+    private List<Integer> lastCycle = Collections.emptyList();
+
+    /**
+     * Creates an order over n vertices with no edges.
+     */
+    public DynamicTopologicalOrder(int n) {
+        this.n = n;
+        this.position = new int[n];
+        this.order = new int[n];
+        this.out = new int[n][];
+        this.outCount = new int[n];
+        this.in = new int[n][];
+        this.inCount = new int[n];
+        this.search = new RegionSearch(n);
+        this.parent = new int[n];
+        for (int v = 0; v < n; v++) {
+            position[v] = v;
+            order[v] = v;
+            out[v] = new int[2];
+            in[v] = new int[2];
+        }
+    }
+
+    /**
+     * Creates an order for the edges of a DAG, seeded with Kahn's algorithm.
+     */
+    public DynamicTopologicalOrder(Graph graph) {
+        this(graph.n);
+        int[] topo = new KahnTopologicalSort(graph, Metrics.NOOP).computeOrder();
+        if (topo.length != n) {
+            throw new IllegalArgumentException("Graph has a cycle; "
+                    + (n - topo.length) + " vertices cannot be ordered");
+        }
+        for (int i = 0; i < n; i++) {
+            order[i] = topo[i];
+            position[topo[i]] = i;
+        }
+        for (int u = 0; u < n; u++) {
+            for (graph.Edge edge : graph.getEdges(u)) {
+                append(u, edge.v);
+            }
+        }
+    }
+
+    /**
+     * Inserts the edge u -> v and repairs the order. Returns false, leaving the
+     * graph and order unchanged, if the edge would create a cycle; the cycle
+     * is then available from {@link #getLastCycle()}.
+     */
+    public boolean addEdge(int u, int v) {
+        if (u == v) {
+            lastCycle = Collections.unmodifiableList(Arrays.asList(u, u));
+            return false;
+        }
+        int lower = position[v];
+        int upper = position[u];
+        if (lower > upper) {
+            append(u, v);
+            return true;
+        }
+
+        search.nextInsertion();
+        if (searchForward(v, u, upper)) {
+            lastCycle = cyclePath(u, v);
+            return false;
+        }
+        searchBackward(u, lower);
+        reorder();
+        append(u, v);
+        return true;
+    }
+
+    /**
+     * Returns the cycle found by the last rejected insertion of u -> v, as the
+     * vertex path u, v, ..., u. Empty if no insertion has been rejected.
+     */
+    public List<Integer> getLastCycle() {
+        return lastCycle;
+    }
+
+    /**
+     * Returns the index of the vertex in the current order.
+     */
+    public int positionOf(int vertex) {
+        return position[vertex];
+    }
+
+    /**
+     * Returns the vertex at the given index of the current order.
+     */
+    public int vertexAt(int index) {
+        return order[index];
+    }
+
+    /**
+     * Returns a copy of the current order.
+     */
+    public int[] getOrder() {
+        return Arrays.copyOf(order, n);
+    }
+
+    /**
+     * Returns the current order as a sort result.
+     */
+    public TopologicalSortResult toResult() {
+        int[] copy = getOrder();
+        return new TopologicalSortResult(copy, copy);
+    }
+
+    private boolean searchForward(int start, int target, int upper) {
+        search.startForward(start);
+        parent[start] = -1;
+
+        while (search.hasNext()) {
+            int x = search.nextForward();
+            for (int i = 0; i < outCount[x]; i++) {
+                int w = out[x][i];
+                if (w == target) {
+                    parent[w] = x;
+                    return true;
+                }
+                // Vertices after the target cannot lead back to it
+                if (position[w] < upper && search.visitForward(w)) {
+                    parent[w] = x;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void searchBackward(int start, int lower) {
+        search.startBackward(start);
+
+        while (search.hasNext()) {
+            int x = search.nextBackward();
+            for (int i = 0; i < inCount[x]; i++) {
+                int w = in[x][i];
+                if (position[w] > lower) {
+                    search.visitBackward(w);
+                }
+            }
+        }
+    }
+
+    /**
+     * Places the backward set before the forward set within the positions
+     * both sets held, keeping the relative order inside each set.
+     */
+    private void reorder() {
+        search.sortBackward(position);
+        search.sortForward(position);
+
+        int backwardSize = search.backwardSize();
+        int total = backwardSize + search.forwardSize();
+        int[] slots = new int[total];
+        int[] vertices = new int[total];
+        for (int i = 0; i < backwardSize; i++) {
+            vertices[i] = search.backwardAt(i);
+            slots[i] = position[vertices[i]];
+        }
+        for (int i = backwardSize; i < total; i++) {
+            vertices[i] = search.forwardAt(i - backwardSize);
+            slots[i] = position[vertices[i]];
+        }
+        Arrays.sort(slots);
+
+        for (int i = 0; i < total; i++) {
+            position[vertices[i]] = slots[i];
+            order[slots[i]] = vertices[i];
+        }
+    }
+
+    private List<Integer> cyclePath(int u, int v) {
+        List<Integer> path = new ArrayList<>();
+        for (int x = u; x != -1; x = parent[x]) {
+            path.add(x);
+        }
+        path.add(u);
+        Collections.reverse(path); // u, v, ..., u
+        return Collections.unmodifiableList(path);
+    }
+
+    private void append(int u, int v) {
+        out[u] = RegionSearch.grow(out[u], outCount[u] + 1);
+        out[u][outCount[u]++] = v;
+        in[v] = RegionSearch.grow(in[v], inCount[v] + 1);
+        in[v][inCount[v]++] = u;
+    }
+}
@@ -0,0 +1,166 @@
+package graph.topo;
+
+import graph.CSRGraph;
+import graph.InEdgeIndex;
+import java.util.*;
+
+/**
+ * Eades-Lin-Smyth greedy heuristic for the minimum feedback arc set,
+ * restricted to the edges inside one component.
+ *
+ * The order is built from both ends: sinks are repeatedly moved to the back,
+ * sources to the front, and when neither exists the vertex with the largest
+ * out-degree minus in-degree goes to the front. Vertices are kept in
+ * buckets by that difference in doubly linked lists, so each step and each
+ * degree update is O(1) and a component of k vertices and m internal edges
+ * is ordered in O(k + m).
+ */
+class GreedyFeedbackArcSet implements ComponentOrdering {
+    private static final int SINKS = 0;
+    private static final int SOURCES = 1;
+
+    @Override
+    public int[] order(ComponentGraph view, int[] members) {
+        int k = members.length;
+        if (k <= 1) {
+            return members;
+        }
+        CSRGraph graph = view.graph;
+        InEdgeIndex incoming = view.incoming;
+        int[] componentId = view.componentId;
+        int[] local = view.localIndex;
+        int component = componentId[members[0]];
+        for (int i = 0; i < k; i++) {
+            local[members[i]] = i;
+        }
+
+        int[] in = new int[k];
+        int[] out = new int[k];
+        for (int i = 0; i < k; i++) {
+            int u = members[i];
+            for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+                int v = graph.targets[e];
+                if (v != u && componentId[v] == component) {
+                    out[i]++;
+                    in[local[v]]++;
+                }
+            }
+        }
+        int maxDegree = 0;
+        for (int i = 0; i < k; i++) {
+            maxDegree = Math.max(maxDegree, Math.max(in[i], out[i]));
+        }
+
+        Buckets buckets = new Buckets(k, 2 + 2 * maxDegree + 1, maxDegree);
+        for (int i = 0; i < k; i++) {
+            buckets.insert(i, in[i], out[i]);
+        }
+
+        int[] result = new int[k];
+        boolean[] removed = new boolean[k];
+        int front = 0;
+        int back = k;
+        for (int step = 0; step < k; step++) {
+            int i = buckets.takeNext();
+            removed[i] = true;
+            if (buckets.bucketOf[i] == SINKS) {
+                result[--back] = members[i];
+            } else {
+                result[front++] = members[i];
+            }
+
+            int u = members[i];
+            for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+                int v = graph.targets[e];
+                if (v != u && componentId[v] == component && !removed[local[v]]) {
+                    int j = local[v];
+                    buckets.remove(j);
+                    buckets.insert(j, --in[j], out[j]);
+                }
+            }
+            InEdgeIndex.Range predecessors = incoming.getIncoming(u);
+            for (int p = 0; p < predecessors.size(); p++) {
+                int w = predecessors.source(p);
+                if (w != u && componentId[w] == component && !removed[local[w]]) {
+                    int j = local[w];
+                    buckets.remove(j);
+                    buckets.insert(j, in[j], --out[j]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Doubly linked lists of local vertices: one for sinks, one for sources,
+     * and one per value of out-degree minus in-degree for the rest.
+     */
+    private static final class Buckets {
+        final int[] head;
+        final int[] next;
+        final int[] prev;
+        final int[] bucketOf;
+        final int offset; // delta -> bucket index is 2 + offset + delta
+        int highest; // no delta bucket above this is occupied
+
+        Buckets(int size, int bucketCount, int maxDegree) {
+            head = new int[bucketCount];
+            Arrays.fill(head, -1);
+            next = new int[size];
+            prev = new int[size];
+            bucketOf = new int[size];
+            offset = maxDegree;
+            highest = 2;
+        }
+
+        void insert(int i, int in, int out) {
+            int bucket;
+            if (out == 0) {
+                bucket = SINKS;
+            } else if (in == 0) {
+                bucket = SOURCES;
+            } else {
+                bucket = 2 + offset + out - in;
+                highest = Math.max(highest, bucket);
+            }
+            bucketOf[i] = bucket;
+            prev[i] = -1;
+            next[i] = head[bucket];
+            if (head[bucket] != -1) {
+                prev[head[bucket]] = i;
+            }
+            head[bucket] = i;
+        }
+
+        void remove(int i) {
+            if (prev[i] != -1) {
+                next[prev[i]] = next[i];
+            } else {
+                head[bucketOf[i]] = next[i];
+            }
+            if (next[i] != -1) {
+                prev[next[i]] = prev[i];
+            }
+        }
+
+        /**
+         * Removes and returns a sink, else a source, else the vertex with the largest delta.
+         */
+        int takeNext() {
+            int bucket;
+            if (head[SINKS] != -1) {
+                bucket = SINKS;
+            } else if (head[SOURCES] != -1) {
+                bucket = SOURCES;
+            } else {
+                while (head[highest] == -1) {
+                    highest--;
+                }
+                bucket = highest;
+            }
+            int i = head[bucket];
+            remove(i);
+            return i;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.util.*;
 
 /**
  * Implementation of Kahn's algorithm for topological sorting.
+ * The queue and the resulting order share one int array, so no vertex is boxed.
  */
 public class KahnTopologicalSort {
     private final Graph graph;
@@ -17,49 +18,61 @@ public class KahnTopologicalSort {
     }
 
     public TopologicalSortResult topologicalSort() {
+        int[] order = computeOrder();
+        return new TopologicalSortResult(order, order); // For condensation graph, component order = task order
+    }
+
+    /**
+     * Returns the topological order as an array. If the graph has a cycle the
+     * array is shorter than n and holds only the vertices that could be ordered.
+     */
+    public int[] computeOrder() {
         metrics.startTimer();
 
+        long operations = 0;
+
         // Calculate in-degrees for all vertices
         int[] inDegree = new int[graph.n];
         for (int u = 0; u < graph.n; u++) {
             for (graph.Edge edge : graph.getEdges(u)) {
                 inDegree[edge.v]++;
-                metrics.queueOperations++; // Count edge processing
+                operations++; // Count edge processing
             }
         }
 
-        // Initialize queue with all vertices having in-degree 0
-        Queue<Integer> queue = new LinkedList<>();
+        // Every vertex is enqueued at most once, so the queue is filled in place
+        // and the dequeued prefix is exactly the topological order
+        int[] queue = new int[graph.n];
+        int head = 0;
+        int tail = 0;
         for (int i = 0; i < graph.n; i++) {
             if (inDegree[i] == 0) {
-                queue.offer(i);
-                metrics.queueOperations++;
+                queue[tail++] = i;
+                operations++;
             }
         }
 
-        List<Integer> topoOrder = new ArrayList<>();
-
         // Process vertices
-        while (!queue.isEmpty()) {
-            int u = queue.poll();
-            topoOrder.add(u);
-            metrics.queueOperations++;
+        while (head < tail) {
+            int u = queue[head++];
+            operations++;
 
             // Decrease in-degree of neighbors
             for (graph.Edge edge : graph.getEdges(u)) {
                 int v = edge.v;
                 inDegree[v]--;
-                metrics.queueOperations++;
+                operations++;
 
                 if (inDegree[v] == 0) {
-                    queue.offer(v);
-                    metrics.queueOperations++;
+                    queue[tail++] = v;
+                    operations++;
                 }
             }
         }
 
         metrics.stopTimer();
+        metrics.addQueueOperations(operations);
 
-        return new TopologicalSortResult(topoOrder, topoOrder); // For condensation graph, component order = task order
+        return tail == graph.n ? queue : Arrays.copyOf(queue, tail);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package graph.topo;
+
+import java.util.*;
+
+/**
+ * Topological order grouped into levels (waves). Level 0 holds the vertices
+ * without predecessors and every other vertex sits one level after its
+ * deepest predecessor, so all vertices of one level can run concurrently.
+ */
+public class LevelTopologicalSortResult extends TopologicalSortResult {
+    public final int[] level; // vertex -> level, or -1 if the vertex lies on or behind a cycle
+    public final int[] levelStart; // level k occupies order[levelStart[k] .. levelStart[k + 1] - 1]
+
+    public LevelTopologicalSortResult(int[] order, int[] level, int[] levelStart) {
+        super(order, order);
+        this.level = level;
+        this.levelStart = levelStart;
+    }
+
+    /**
+     * Returns the number of levels.
+     */
+    public int getLevelCount() {
+        return levelStart.length - 1;
+    }
+
+    /**
+     * Returns the vertices of the given level in ascending order.
+     */
+    public int[] getLevelVertices(int k) {
+        return Arrays.copyOfRange(getOrderArray(), levelStart[k], levelStart[k + 1]);
+    }
+}
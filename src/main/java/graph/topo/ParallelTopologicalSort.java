@@ -0,0 +1,174 @@
+package graph.topo;
+
+import graph.CSRGraph;
+import graph.Metrics;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Level-synchronous parallel variant of Kahn's algorithm.
+ * Each frontier level is split across a ForkJoinPool; successors' in-degrees
+ * are decremented atomically and a vertex whose in-degree reaches zero is
+ * appended to the next level. Each level is sorted afterwards, so the
+ * result does not depend on thread scheduling.
+ */
+public class ParallelTopologicalSort {
+    private static final int SEQUENTIAL_THRESHOLD = 1024; // vertices or edges per leaf task
+
+    private final CSRGraph graph;
+    private final Metrics metrics;
+    private final ForkJoinPool pool;
+
+    public ParallelTopologicalSort(CSRGraph graph, Metrics metrics) {
+        this(graph, metrics, ForkJoinPool.commonPool());
+    }
+
+    public ParallelTopologicalSort(CSRGraph graph, Metrics metrics, ForkJoinPool pool) {
+        this.graph = graph;
+        this.metrics = metrics;
+        this.pool = pool;
+    }
+
+    public LevelTopologicalSortResult topologicalSort() {
+        metrics.startTimer();
+
+        int n = graph.n;
+        AtomicIntegerArray inDegree = new AtomicIntegerArray(n);
+        long operations = pool.invoke(new InDegreeTask(inDegree, 0, graph.edgeCount()));
+
+        int[] order = new int[n];
+        int[] level = new int[n];
+        Arrays.fill(level, -1);
+        AtomicInteger tail = new AtomicInteger();
+        for (int v = 0; v < n; v++) {
+            if (inDegree.get(v) == 0) {
+                order[tail.getAndIncrement()] = v;
+                level[v] = 0;
+                operations++;
+            }
+        }
+
+        List<Integer> starts = new ArrayList<>();
+        int begin = 0;
+        int end = tail.get();
+        while (begin < end) {
+            starts.add(begin);
+            operations += pool.invoke(new FrontierTask(order, level, inDegree, tail, starts.size(), begin, end));
+
+            // Threads append to the next level in arbitrary order; sort it for a stable result
+            int next = tail.get();
+            if (next - end > SEQUENTIAL_THRESHOLD) {
+                Arrays.parallelSort(order, end, next);
+            } else {
+                Arrays.sort(order, end, next);
+            }
+            begin = end;
+            end = next;
+        }
+
+        int[] levelStart = new int[starts.size() + 1];
+        for (int k = 0; k < starts.size(); k++) {
+            levelStart[k] = starts.get(k);
+        }
+        levelStart[starts.size()] = end;
+
+        metrics.stopTimer();
+        metrics.addQueueOperations(operations);
+
+        if (end < n) {
+            order = Arrays.copyOf(order, end);
+        }
+        return new LevelTopologicalSortResult(order, level, levelStart);
+    }
+
+    /**
+     * Counts in-degrees over a range of edge indices.
+     */
+    private final class InDegreeTask extends RecursiveTask<Long> {
+        private final AtomicIntegerArray inDegree;
+        private final int from;
+        private final int to;
+
+        InDegreeTask(AtomicIntegerArray inDegree, int from, int to) {
+            this.inDegree = inDegree;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD * 8) {
+                int[] targets = graph.targets;
+                for (int e = from; e < to; e++) {
+                    inDegree.getAndIncrement(targets[e]);
+                }
+                return (long) (to - from);
+            }
+            int mid = (from + to) >>> 1;
+            InDegreeTask left = new InDegreeTask(inDegree, from, mid);
+            left.fork();
+            long right = new InDegreeTask(inDegree, mid, to).compute();
+            return right + left.join();
+        }
+    }
+
+    /**
+     * Releases the successors of order[from..to), all of which sit on the
+     * current level, and appends newly ready vertices to the next level.
+     */
+    private final class FrontierTask extends RecursiveTask<Long> {
+        private final int[] order;
+        private final int[] level;
+        private final AtomicIntegerArray inDegree;
+        private final AtomicInteger tail;
+        private final int nextLevel;
+        private final int from;
+        private final int to;
+
+        FrontierTask(int[] order, int[] level, AtomicIntegerArray inDegree, AtomicInteger tail,
+                     int nextLevel, int from, int to) {
+            this.order = order;
+            this.level = level;
+            this.inDegree = inDegree;
+            this.tail = tail;
+            this.nextLevel = nextLevel;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                return release();
+            }
+            int mid = (from + to) >>> 1;
+            FrontierTask left = new FrontierTask(order, level, inDegree, tail, nextLevel, from, mid);
+            left.fork();
+            long right = new FrontierTask(order, level, inDegree, tail, nextLevel, mid, to).compute();
+            return right + left.join();
+        }
+
+        private long release() {
+            int[] offsets = graph.offsets;
+            int[] targets = graph.targets;
+            long operations = 0;
+            for (int i = from; i < to; i++) {
+                int u = order[i];
+                operations++;
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    operations++;
+                    if (inDegree.decrementAndGet(v) == 0) {
+                        order[tail.getAndIncrement()] = v;
+                        level[v] = nextLevel;
+                        operations++;
+                    }
+                }
+            }
+            return operations;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package graph.topo;
+
+import java.util.Arrays;
+
+/**
+ * Scratch state for the bounded forward and backward searches that repair an
+ * incremental topological order after an insertion.
+ *
+ * Visited marks are stamped per insertion instead of cleared, so starting a
+ * new search costs O(1) no matter how many nodes the previous one touched.
+ * Each search records the nodes it popped in visit order; the work lists grow
+ * on demand and are reused across insertions.
+ */
+public final class RegionSearch {
+    private final int[] forwardMark;
+    private final int[] backwardMark;
+    private int stamp;
+    private int[] stack = new int[16];
+    private int top;
+    private int[] forward = new int[16];
+    private int[] backward = new int[16];
+    private int forwardSize;
+    private int backwardSize;
+
+    public RegionSearch(int n) {
+        this.forwardMark = new int[n];
+        this.backwardMark = new int[n];
+    }
+
+    /**
+     * Starts a new insertion; marks left by earlier searches become stale.
+     */
+    public void nextInsertion() {
+        stamp++;
+    }
+
+    /**
+     * Starts the forward search from the given node.
+     */
+    public void startForward(int start) {
+        forwardSize = 0;
+        top = 0;
+        visitForward(start);
+    }
+
+    /**
+     * Starts the backward search from the given node.
+     */
+    public void startBackward(int start) {
+        backwardSize = 0;
+        top = 0;
+        visitBackward(start);
+    }
+
+    /**
+     * Returns true while the current search has nodes left to expand.
+     */
+    public boolean hasNext() {
+        return top > 0;
+    }
+
+    /**
+     * Pops the next node of the forward search and records it as found.
+     */
+    public int nextForward() {
+        int x = stack[--top];
+        forward = grow(forward, forwardSize + 1);
+        forward[forwardSize++] = x;
+        return x;
+    }
+
+    /**
+     * Pops the next node of the backward search and records it as found.
+     */
+    public int nextBackward() {
+        int x = stack[--top];
+        backward = grow(backward, backwardSize + 1);
+        backward[backwardSize++] = x;
+        return x;
+    }
+
+    /**
+     * Queues the node for the forward search unless this insertion has
+     * already seen it. Returns true if it was queued.
+     */
+    public boolean visitForward(int x) {
+        if (forwardMark[x] == stamp) {
+            return false;
+        }
+        forwardMark[x] = stamp;
+        push(x);
+        return true;
+    }
+
+    /**
+     * Queues the node for the backward search unless this insertion has
+     * already seen it. Returns true if it was queued.
+     */
+    public boolean visitBackward(int x) {
+        if (backwardMark[x] == stamp) {
+            return false;
+        }
+        backwardMark[x] = stamp;
+        push(x);
+        return true;
+    }
+
+    public boolean inForward(int x) {
+        return forwardMark[x] == stamp;
+    }
+
+    public boolean inBackward(int x) {
+        return backwardMark[x] == stamp;
+    }
+
+    public int forwardSize() {
+        return forwardSize;
+    }
+
+    public int forwardAt(int i) {
+        return forward[i];
+    }
+
+    public int backwardSize() {
+        return backwardSize;
+    }
+
+    public int backwardAt(int i) {
+        return backward[i];
+    }
+
+    /**
+     * Sorts the forward set by its current index in the order.
+     */
+    public void sortForward(int[] index) {
+        sortByKey(forward, forwardSize, index);
+    }
+
+    /**
+     * Sorts the backward set by its current index in the order.
+     */
+    public void sortBackward(int[] index) {
+        sortByKey(backward, backwardSize, index);
+    }
+
+    private void push(int x) {
+        stack = grow(stack, top + 1);
+        stack[top++] = x;
+    }
+
+    /**
+     * Sorts the first size nodes ascending by key[node]. Keys must be non-negative.
+     */
+    public static void sortByKey(int[] nodes, int size, int[] key) {
+        // Pack (key, node) into longs so a primitive sort orders by key
+        long[] keyed = new long[size];
+        for (int i = 0; i < size; i++) {
+            keyed[i] = ((long) key[nodes[i]] << 32) | nodes[i];
+        }
+        Arrays.sort(keyed);
+        for (int i = 0; i < size; i++) {
+            nodes[i] = (int) keyed[i];
+        }
+    }
+
+    /**
+     * Returns the array, or a copy at least doubled in length if it cannot hold required entries.
+     */
+    public static int[] grow(int[] array, int required) {
+        if (required <= array.length) {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(required, array.length * 2));
+    }
+}
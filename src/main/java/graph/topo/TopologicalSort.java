@@ -1,9 +1,12 @@
 package graph.topo;
 
+import graph.CSRGraph;
 import graph.Graph;
 import graph.Metrics;
 import graph.scc.SCCResult;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Utility class for topological sorting that handles both regular DAGs and SCC condensation graphs.
@@ -22,13 +25,48 @@ public class TopologicalSort {
         TopologicalSortResult componentOrder = kahn.topologicalSort();
 
         // Map component order back to original task order
-        List<Integer> taskOrder = new ArrayList<>();
-        for (int compId : componentOrder.order) {
+        int[] order = componentOrder.getOrderArray();
+        int[] taskOrder = new int[sccResult.componentId.length];
+        int next = 0;
+        for (int compId : order) {
             // Add all tasks from this component to the final order
-            taskOrder.addAll(sccResult.components.get(compId));
+            for (int task : sccResult.components.get(compId)) {
+                taskOrder[next++] = task;
+            }
+        }
+        if (next < taskOrder.length) {
+            taskOrder = Arrays.copyOf(taskOrder, next);
         }
 
-        return new TopologicalSortResult(componentOrder.order, taskOrder);
+        return new TopologicalSortResult(order, taskOrder);
+    }
+
+    /**
+     * Performs topological sort on a condensation graph and orders the tasks
+     * inside each component with the given ordering. Components are ordered
+     * in parallel, each written straight into its slice of the task order.
+     */
+    public static TopologicalSortResult sortCondensationGraph(SCCResult sccResult, CSRGraph graph,
+                                                              ComponentOrdering ordering, Metrics metrics) {
+        int[] order = new KahnTopologicalSort(sccResult.condensationGraph, metrics).computeOrder();
+
+        // Slice of the task order for each position in the component order
+        int[] start = new int[order.length + 1];
+        for (int i = 0; i < order.length; i++) {
+            start[i + 1] = start[i] + sccResult.components.get(order[i]).size();
+        }
+        int[] taskOrder = new int[start[order.length]];
+
+        ComponentGraph view = new ComponentGraph(graph, sccResult.componentId);
+        ForkJoinPool.commonPool().invoke(
+                new ComponentOrderTask(sccResult, view, ordering, order, start, taskOrder, 0, order.length));
+
+        return new TopologicalSortResult(order, taskOrder);
+    }
+
+    public static TopologicalSortResult sortCondensationGraph(SCCResult sccResult, Graph graph,
+                                                              ComponentOrdering ordering, Metrics metrics) {
+        return sortCondensationGraph(sccResult, CSRGraph.fromGraphWithIncoming(graph), ordering, metrics);
     }
 
     /**
@@ -38,4 +76,68 @@ public class TopologicalSort {
         KahnTopologicalSort kahn = new KahnTopologicalSort(dag, metrics);
         return kahn.topologicalSort();
     }
-}
\ No newline at end of file
+
+    /**
+     * Performs a parallel, level-by-level topological sort. Vertices on the
+     * same level have no dependencies between them and can run concurrently.
+     */
+    public static LevelTopologicalSortResult sortByLevels(Graph dag, Metrics metrics) {
+        ParallelTopologicalSort sort = new ParallelTopologicalSort(CSRGraph.fromGraph(dag), metrics);
+        return sort.topologicalSort();
+    }
+
+    /**
+     * Performs topological sort on a DAG in CSR form.
+     */
+    public static TopologicalSortResult sortDAG(CSRGraph dag, Metrics metrics) {
+        CSRKahnTopologicalSort kahn = new CSRKahnTopologicalSort(dag, metrics);
+        return kahn.topologicalSort();
+    }
+
+    /**
+     * Orders the components at positions [from, to) of the component order.
+     */
+    private static final class ComponentOrderTask extends RecursiveAction {
+        private static final int SEQUENTIAL_THRESHOLD = 4096; // tasks per leaf
+
+        private final SCCResult sccResult;
+        private final ComponentGraph view;
+        private final ComponentOrdering ordering;
+        private final int[] order;
+        private final int[] start;
+        private final int[] taskOrder;
+        private final int from;
+        private final int to;
+
+        ComponentOrderTask(SCCResult sccResult, ComponentGraph view, ComponentOrdering ordering,
+                           int[] order, int[] start, int[] taskOrder, int from, int to) {
+            this.sccResult = sccResult;
+            this.view = view;
+            this.ordering = ordering;
+            this.order = order;
+            this.start = start;
+            this.taskOrder = taskOrder;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && start[to] - start[from] > SEQUENTIAL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ComponentOrderTask(sccResult, view, ordering, order, start, taskOrder, from, mid),
+                        new ComponentOrderTask(sccResult, view, ordering, order, start, taskOrder, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                List<Integer> component = sccResult.components.get(order[i]);
+                int[] members = new int[component.size()];
+                for (int j = 0; j < members.length; j++) {
+                    members[j] = component.get(j);
+                }
+                int[] ordered = ordering.order(view, members);
+                System.arraycopy(ordered, 0, taskOrder, start[i], ordered.length);
+            }
+        }
+    }
+}
@@ -4,25 +4,82 @@ import java.util.*;
 
 /**
  * Contains the results of topological sorting.
+ * The orders are stored as int arrays; the {@code List} fields are read-only
+ * views over those arrays, kept for compatibility.
  */
 public class TopologicalSortResult {
     public final List<Integer> order; // Order of component IDs
     public final List<Integer> taskOrder; // Order of original task vertices
+    private final int[] orderArray;
+    private final int[] taskOrderArray;
+
+    public TopologicalSortResult(int[] order, int[] taskOrder) {
+        this.orderArray = order;
+        this.taskOrderArray = taskOrder;
+        this.order = new IntArrayView(order);
+        this.taskOrder = taskOrder == order ? this.order : new IntArrayView(taskOrder);
+    }
 
     public TopologicalSortResult(List<Integer> order, List<Integer> taskOrder) {
-        this.order = order;
-        this.taskOrder = taskOrder;
+        this(order, taskOrder, toArray(order));
+    }
+
+    private TopologicalSortResult(List<Integer> order, List<Integer> taskOrder, int[] orderArray) {
+        this(orderArray, taskOrder == order ? orderArray : toArray(taskOrder));
+    }
+
+    /**
+     * Returns the component order as an array. Callers must not modify it.
+     */
+    public int[] getOrderArray() {
+        return orderArray;
+    }
+
+    /**
+     * Returns the task order as an array. Callers must not modify it.
+     */
+    public int[] getTaskOrderArray() {
+        return taskOrderArray;
     }
 
     /**
      * Returns true if the sort order is valid (contains all vertices).
      */
     public boolean isValid(int totalVertices) {
-        return order.size() == totalVertices;
+        return orderArray.length == totalVertices;
     }
 
     @Override
     public String toString() {
         return "Component Order: " + order + "\nTask Order: " + taskOrder;
     }
-}
\ No newline at end of file
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Read-only List view over an int array.
+     */
+    private static final class IntArrayView extends AbstractList<Integer> implements RandomAccess {
+        private final int[] values;
+
+        IntArrayView(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+}
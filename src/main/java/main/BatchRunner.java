@@ -0,0 +1,254 @@
+package main;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import graph.GraphLoader;
+import graph.LoadedGraph;
+import graph.Metrics;
+import graph.pipeline.PipelineResult;
+import graph.pipeline.SchedulingPipeline;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Analyzes many graph files in one JVM and writes one JSON line per graph.
+ *
+ * Parsing and analysis run on separate bounded pools, so a graph is analyzed
+ * while the next ones are still being read. A semaphore caps the number of
+ * graphs that are loaded but not yet written, which bounds memory no matter
+ * how large the corpus is. Lines are written in completion order and carry
+ * the file name; a file that fails to load or analyze, including with an
+ * Error such as running out of memory, produces an error line instead of
+ * stopping or stalling the batch.
+ *
+ * Usage: {@code BatchRunner <directory|manifest> [output.jsonl] [threads]}.
+ * A directory is scanned for .json and .bin files; any other file is read as
+ * a manifest with one graph path per line, relative to the manifest.
+ */
+public class BatchRunner {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final int parseThreads;
+    private final int analysisThreads;
+    private final int maxInFlight;
+
+    public BatchRunner(int parseThreads, int analysisThreads, int maxInFlight) {
+        if (parseThreads < 1 || analysisThreads < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Thread counts and in-flight limit must be positive");
+        }
+        this.parseThreads = parseThreads;
+        this.analysisThreads = analysisThreads;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Lists the graph files of a directory (sorted by name) or of a manifest.
+     * Blank manifest lines and lines starting with '#' are skipped.
+     */
+    public static List<Path> listInputs(Path input) throws IOException {
+        if (Files.isDirectory(input)) {
+            try (Stream<Path> files = Files.list(input)) {
+                return files.filter(file -> {
+                    String name = file.getFileName().toString();
+                    return Files.isRegularFile(file) && (name.endsWith(".json") || name.endsWith(".bin"));
+                }).sorted().collect(Collectors.toList());
+            }
+        }
+        Path base = input.toAbsolutePath().getParent();
+        List<Path> files = new ArrayList<>();
+        for (String line : Files.readAllLines(input, StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                files.add(base.resolve(line));
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Loads and analyzes every file and writes the JSON lines to the writer.
+     * Returns the number of files that produced an error line.
+     */
+    public int run(List<Path> files, Writer out) throws IOException, InterruptedException {
+        ExecutorService parsers = Executors.newFixedThreadPool(parseThreads);
+        ExecutorService analyzers = Executors.newFixedThreadPool(analysisThreads);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        CountDownLatch done = new CountDownLatch(files.size());
+        AtomicInteger failures = new AtomicInteger();
+        AtomicReference<IOException> writeError = new AtomicReference<>();
+
+        try {
+            for (Path file : files) {
+                inFlight.acquire(); // wait while too many graphs are held in memory
+                parsers.execute(() -> {
+                    boolean handedOff = false;
+                    try {
+                        long parseStart = System.nanoTime();
+                        LoadedGraph loaded = GraphLoader.load(file.toString());
+                        long parseNanos = System.nanoTime() - parseStart;
+                        analyzers.execute(() -> {
+                            try {
+                                String line;
+                                try {
+                                    line = analyze(file, loaded, parseNanos);
+                                } catch (Throwable e) {
+                                    failures.incrementAndGet();
+                                    line = errorLine(file, e);
+                                }
+                                write(line, out, writeError);
+                            } finally {
+                                inFlight.release();
+                                done.countDown();
+                            }
+                        });
+                        handedOff = true;
+                    } catch (Throwable e) {
+                        failures.incrementAndGet();
+                        write(errorLine(file, e), out, writeError);
+                    } finally {
+                        // Released here unless the analysis task now owns the slot
+                        if (!handedOff) {
+                            inFlight.release();
+                            done.countDown();
+                        }
+                    }
+                });
+            }
+            done.await();
+        } finally {
+            parsers.shutdownNow();
+            analyzers.shutdownNow();
+        }
+
+        out.flush();
+        if (writeError.get() != null) {
+            throw writeError.get();
+        }
+        return failures.get();
+    }
+
+    private static void write(String line, Writer out, AtomicReference<IOException> writeError) {
+        try {
+            synchronized (out) {
+                out.write(line);
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            writeError.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Runs the scheduling pipeline on one graph and renders its result as a JSON line.
+     */
+    static String analyze(Path file, LoadedGraph loaded, long parseNanos) throws IOException {
+        Metrics metrics = new Metrics();
+        PipelineResult result = new SchedulingPipeline(loaded.graph, metrics).run(loaded.source);
+
+        StringWriter line = new StringWriter();
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(line)) {
+            json.writeStartObject();
+            json.writeStringField("file", file.toString());
+            json.writeNumberField("vertices", loaded.graph.n);
+            json.writeNumberField("edges", loaded.graph.edgeCount());
+            json.writeNumberField("source", loaded.source);
+
+            json.writeNumberField("componentCount", result.componentCount);
+            json.writeArrayFieldStart("components");
+            for (int c = 0; c < result.componentCount; c++) {
+                int[] members = result.getComponent(c);
+                json.writeArray(members, 0, members.length);
+            }
+            json.writeEndArray();
+            json.writeFieldName("componentOrder");
+            json.writeArray(result.componentOrder, 0, result.componentOrder.length);
+            json.writeFieldName("taskOrder");
+            json.writeArray(result.taskOrder, 0, result.taskOrder.length);
+
+            json.writeObjectFieldStart("criticalPath");
+            writeDouble(json, "length", result.criticalPath.length);
+            json.writeArrayFieldStart("components");
+            for (int c : result.criticalPath.path) {
+                json.writeNumber(c);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+
+            json.writeObjectFieldStart("metrics");
+            json.writeNumberField("parseNanos", parseNanos);
+            json.writeObjectFieldStart("stageNanos");
+            for (Map.Entry<String, Long> stage : result.getStageTimes().entrySet()) {
+                json.writeNumberField(stage.getKey(), stage.getValue());
+            }
+            json.writeEndObject();
+            json.writeNumberField("totalNanos", result.getTotalTime());
+            json.writeNumberField("dfsVisits", metrics.getDfsVisits());
+            json.writeNumberField("edgeRelaxations", metrics.getEdgeRelaxations());
+            json.writeNumberField("queueOperations", metrics.getQueueOperations());
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+        return line.toString();
+    }
+
+    private static String errorLine(Path file, Throwable error) {
+        StringWriter line = new StringWriter();
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(line)) {
+            json.writeStartObject();
+            json.writeStringField("file", file.toString());
+            json.writeStringField("error", error.getClass().getSimpleName() + ": " + error.getMessage());
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // a StringWriter does not fail
+        }
+        return line.toString();
+    }
+
+    /**
+     * JSON has no infinities or NaN; a non-finite value is written as null.
+     */
+    private static void writeDouble(JsonGenerator json, String field, double value) throws IOException {
+        if (Double.isFinite(value)) {
+            json.writeNumberField(field, value);
+        } else {
+            json.writeNullField(field);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: BatchRunner <directory|manifest> [output.jsonl] [threads]");
+            System.exit(1);
+        }
+        Path input = Path.of(args[0]);
+        Path output = Path.of(args.length > 1 ? args[1] : "batch-results.jsonl");
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        try {
+            List<Path> files = listInputs(input);
+            System.out.println("Analyzing " + files.size() + " graphs on " + threads + " threads...");
+            long start = System.nanoTime();
+            BatchRunner runner = new BatchRunner(Math.max(1, threads / 2), threads, 2 * threads);
+            int failures;
+            try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                failures = runner.run(files, out);
+            }
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("Wrote " + files.size() + " results to " + output + " in " + millis + " ms ("
+                    + failures + " failed)");
+        } catch (IOException e) {
+            System.err.println("Error running batch: " + e.getMessage());
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Batch interrupted");
+        }
+    }
+}
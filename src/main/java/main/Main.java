@@ -4,7 +4,9 @@ import graph.*;
 import graph.scc.*;
 import graph.topo.*;
 import graph.dagsp.*;
+import graph.pipeline.*;
 import java.io.IOException;
+import java.util.*;
 
 /**
  * Main class to demonstrate the complete pipeline of algorithms.
@@ -16,66 +18,60 @@ public class Main {
 
             // Load graph from JSON
             String dataFile = "data/tasks.json";
-            Graph graph = GraphLoader.loadFromJson(dataFile);
-            GraphData graphData = GraphLoader.loadGraphData(dataFile);
+            LoadedGraph loaded = GraphLoader.loadStreaming(dataFile);
+            CSRGraph graph = loaded.graph;
 
             System.out.println("Graph loaded:");
             System.out.println("- Vertices: " + graph.n);
-            System.out.println("- Edges: " + graph.getAllEdges().size());
-            System.out.println("- Source: " + graphData.source);
-            System.out.println("- Weight model: " + graphData.weightModel);
+            System.out.println("- Edges: " + graph.edgeCount());
+            System.out.println("- Source: " + loaded.source);
+            System.out.println("- Weight model: " + loaded.weightModel);
             System.out.println();
 
-            // 1. Compute SCC and condensation graph
-            System.out.println("1. STRONGLY CONNECTED COMPONENTS");
-            Metrics sccMetrics = new Metrics();
-            SCCResult sccResult = SCC.computeSCC(graph, sccMetrics);
+            // Run SCC, condensation, ordering and path analysis as one pipeline
+            Metrics metrics = new Metrics();
+            PipelineResult result = new SchedulingPipeline(graph, metrics).run(loaded.source);
 
-            System.out.println("Components found: " + sccResult.getComponentCount());
-            System.out.println("Component sizes: " + sccResult.getComponentSizes());
-            for (int i = 0; i < sccResult.components.size(); i++) {
-                System.out.println("  Component " + i + ": " + sccResult.components.get(i));
+            // 1. Strongly connected components
+            System.out.println("1. STRONGLY CONNECTED COMPONENTS");
+            List<Integer> sizes = new ArrayList<>();
+            for (int i = 0; i < result.componentCount; i++) {
+                sizes.add(result.getComponentSize(i));
+            }
+            System.out.println("Components found: " + result.componentCount);
+            System.out.println("Component sizes: " + sizes);
+            for (int i = 0; i < result.componentCount; i++) {
+                System.out.println("  Component " + i + ": " + Arrays.toString(result.getComponent(i)));
             }
-            System.out.println("SCC Metrics: " + sccMetrics);
             System.out.println();
 
-            // 2. Topological sort on condensation graph
+            // 2. Topological order of the condensation graph
             System.out.println("2. TOPOLOGICAL SORT");
-            Metrics topoMetrics = new Metrics();
-            TopologicalSortResult topoResult = TopologicalSort.sortCondensationGraph(sccResult, topoMetrics);
-
-            System.out.println("Component order: " + topoResult.order);
-            System.out.println("Task execution order: " + topoResult.taskOrder);
-            System.out.println("Topo Sort Metrics: " + topoMetrics);
+            System.out.println("Component order: " + Arrays.toString(result.componentOrder));
+            System.out.println("Task execution order: " + Arrays.toString(result.taskOrder));
             System.out.println();
 
             // 3. Shortest paths in DAG (condensation graph)
             System.out.println("3. SHORTEST PATHS IN DAG");
-            Metrics spMetrics = new Metrics();
-            int sourceComponent = sccResult.componentId[graphData.source];
-            ShortestPathResult shortestPath = DAGSP.shortestPath(
-                    sccResult.condensationGraph, sourceComponent, spMetrics
-            );
-
-            System.out.println("Shortest paths from source component " + sourceComponent + ":");
-            for (int i = 0; i < sccResult.condensationGraph.n; i++) {
-                double dist = shortestPath.getDistance(i);
+            System.out.println("Shortest paths from source component " + result.sourceComponent + ":");
+            for (int i = 0; i < result.condensation.n; i++) {
+                double dist = result.shortestPaths.getDistance(i);
                 if (dist != Double.POSITIVE_INFINITY) {
                     System.out.println("  to component " + i + ": " + dist);
                 }
             }
-            System.out.println("Shortest Path Metrics: " + spMetrics);
             System.out.println();
 
             // 4. Critical path (longest path) in DAG
             System.out.println("4. CRITICAL PATH ANALYSIS");
-            Metrics criticalMetrics = new Metrics();
-            CriticalPathResult criticalPath = DAGSP.findCriticalPath(
-                    sccResult.condensationGraph, criticalMetrics
-            );
+            System.out.println(result.criticalPath);
+            System.out.println();
 
-            System.out.println(criticalPath);
-            System.out.println("Critical Path Metrics: " + criticalMetrics);
+            System.out.println("Stage times:");
+            for (Map.Entry<String, Long> stage : result.getStageTimes().entrySet()) {
+                System.out.println("  " + stage.getKey() + ": " + stage.getValue() + " ns");
+            }
+            System.out.println("Pipeline Metrics: " + metrics);
 
         } catch (IOException e) {
             System.err.println("Error loading graph data: " + e.getMessage());
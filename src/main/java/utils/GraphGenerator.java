@@ -68,12 +68,25 @@ public class GraphGenerator {
 
     private static Graph createGraph(int n, int targetEdges, double cycleProbability,
                                      int minWeight, int maxWeight) {
+        return createGraph(n, targetEdges, cycleProbability, minWeight, maxWeight, random);
+    }
+
+    /**
+     * Creates a weakly connected random graph with its own seed, independent of the dataset generator.
+     */
+    public static Graph createGraph(int n, int targetEdges, double cycleProbability,
+                                    int minWeight, int maxWeight, long seed) {
+        return createGraph(n, targetEdges, cycleProbability, minWeight, maxWeight, new Random(seed));
+    }
+
+    private static Graph createGraph(int n, int targetEdges, double cycleProbability,
+                                     int minWeight, int maxWeight, Random random) {
         Graph graph = new Graph(n, true);
         Set<String> existingEdges = new HashSet<>();
         int edgesAdded = 0;
 
         // First, ensure the graph is weakly connected
-        makeConnected(graph, existingEdges, minWeight, maxWeight);
+        makeConnected(graph, existingEdges, minWeight, maxWeight, random);
         edgesAdded = graph.getAllEdges().size();
 
         // Add remaining edges randomly
@@ -87,13 +100,13 @@ public class GraphGenerator {
                 if (random.nextDouble() < cycleProbability && edgesAdded > n) {
                     // Try to create a cycle by adding reverse edge if it doesn't exist
                     if (!existingEdges.contains(v + "->" + u)) {
-                        graph.addEdge(v, u, randomWeight(minWeight, maxWeight));
+                        graph.addEdge(v, u, randomWeight(minWeight, maxWeight, random));
                         existingEdges.add(v + "->" + u);
                         edgesAdded++;
                     }
                 }
 
-                graph.addEdge(u, v, randomWeight(minWeight, maxWeight));
+                graph.addEdge(u, v, randomWeight(minWeight, maxWeight, random));
                 existingEdges.add(u + "->" + v);
                 edgesAdded++;
             }
@@ -102,7 +115,8 @@ public class GraphGenerator {
         return graph;
     }
 
-    private static void makeConnected(Graph graph, Set<String> existingEdges, int minWeight, int maxWeight) {
+    private static void makeConnected(Graph graph, Set<String> existingEdges, int minWeight, int maxWeight,
+                                      Random random) {
         int n = graph.n;
         List<Integer> nodes = new ArrayList<>();
         for (int i = 0; i < n; i++) {
@@ -114,12 +128,12 @@ public class GraphGenerator {
         for (int i = 0; i < n - 1; i++) {
             int u = nodes.get(i);
             int v = nodes.get(i + 1);
-            graph.addEdge(u, v, randomWeight(minWeight, maxWeight));
+            graph.addEdge(u, v, randomWeight(minWeight, maxWeight, random));
             existingEdges.add(u + "->" + v);
         }
     }
 
-    private static double randomWeight(int min, int max) {
+    private static double randomWeight(int min, int max, Random random) {
         return min + random.nextInt(max - min + 1);
     }
 
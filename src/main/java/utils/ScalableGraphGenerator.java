@@ -0,0 +1,539 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import graph.BinaryGraphFile;
+import graph.CSRGraph;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * High-volume graph generator for load tests with millions of vertices.
+ *
+ * Vertices are generated in fixed-size blocks, each with its own random
+ * stream derived from the seed and the block number, so the output depends
+ * only on the parameters and never on the thread count. Each vertex draws
+ * its own targets, which are deduplicated with a sort over that vertex's
+ * targets instead of a global edge set. Blocks are generated in parallel and
+ * either copied into one {@link CSRGraph} ({@link #generate()}) or streamed to
+ * a file in vertex order a wave of blocks at a time ({@link #write}), so
+ * graphs larger than the heap can be written.
+ */
+public class ScalableGraphGenerator {
+
+    /**
+     * Shape of the generated graph.
+     */
+    public enum Topology {
+        /** Uniform random targets; edges point forward except with the back-edge probability. */
+        UNIFORM,
+        /** Vertices split into consecutive layers; edges only go to the next layer. */
+        LAYERED_DAG,
+        /** Strongly connected components of power-law distributed size, connected as a DAG. */
+        PLANTED_SCC,
+        /** Power-law (Pareto) out-degrees with uniform random targets. */
+        POWER_LAW,
+        /** Disjoint long chains of sequential dependencies. */
+        CHAIN
+    }
+
+    private static final int BLOCK_SIZE = 1 << 14; // vertices per block and per random stream
+
+    private final Topology topology;
+    private final int n;
+    private final double averageDegree;
+    private final long seed;
+
+    // Topology-specific parameters
+    private double backEdgeProbability;
+    private int layers;
+    private int maxComponentSize;
+    private double exponent;
+    private int chainLength;
+
+    private int minWeight = 1;
+    private int maxWeight = 20;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private int[] componentStart; // PLANTED_SCC: sorted first vertex of every component, plus n
+    private int[] componentOf; // PLANTED_SCC: vertex -> index into componentStart
+    private double paretoScale; // POWER_LAW: scale giving mean degree averageDegree
+
+    private ScalableGraphGenerator(Topology topology, int n, double averageDegree, long seed) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Number of vertices must be positive");
+        }
+        this.topology = topology;
+        this.n = n;
+        this.averageDegree = averageDegree;
+        this.seed = seed;
+    }
+
+    /**
+     * Random graph whose edges point from lower to higher vertex IDs, except a
+     * fraction backEdgeProbability that point backwards and close cycles.
+     */
+    public static ScalableGraphGenerator uniform(int n, double averageDegree, double backEdgeProbability, long seed) {
+        ScalableGraphGenerator generator = new ScalableGraphGenerator(Topology.UNIFORM, n, averageDegree, seed);
+        generator.backEdgeProbability = backEdgeProbability;
+        return generator;
+    }
+
+    public static ScalableGraphGenerator layeredDag(int n, int layers, double averageDegree, long seed) {
+        if (layers < 1 || layers > n) {
+            throw new IllegalArgumentException("Layer count must be between 1 and n");
+        }
+        ScalableGraphGenerator generator = new ScalableGraphGenerator(Topology.LAYERED_DAG, n, averageDegree, seed);
+        generator.layers = layers;
+        return generator;
+    }
+
+    /**
+     * Planted SCCs with sizes drawn from a power law with the given exponent
+     * on [1, maxComponentSize]; exponent 0 gives uniformly distributed sizes.
+     */
+    public static ScalableGraphGenerator plantedScc(int n, int maxComponentSize, double sizeExponent,
+                                                    double averageDegree, long seed) {
+        if (maxComponentSize < 1) {
+            throw new IllegalArgumentException("Maximum component size must be positive");
+        }
+        ScalableGraphGenerator generator = new ScalableGraphGenerator(Topology.PLANTED_SCC, n, averageDegree, seed);
+        generator.maxComponentSize = maxComponentSize;
+        generator.exponent = sizeExponent;
+        return generator;
+    }
+
+    /**
+     * Out-degrees follow a Pareto distribution with the given exponent
+     * (greater than 1), capped at n - 1. The scale is solved for so that the
+     * mean of the capped distribution is averageDegree, which also holds for
+     * exponents up to 2 where the uncapped mean is infinite.
+     */
+    public static ScalableGraphGenerator powerLaw(int n, double averageDegree, double exponent, long seed) {
+        if (exponent <= 1.0) {
+            throw new IllegalArgumentException("Power-law exponent must be greater than 1");
+        }
+        ScalableGraphGenerator generator = new ScalableGraphGenerator(Topology.POWER_LAW, n, averageDegree, seed);
+        generator.exponent = exponent;
+        generator.paretoScale = paretoScale(exponent - 1.0, averageDegree, n - 1);
+        return generator;
+    }
+
+    /**
+     * Finds the Pareto scale s whose mean capped at h, s + s^a (h^(1-a) - s^(1-a)) / (1 - a)
+     * (s + s ln(h / s) for a = 1), equals the target. The mean grows with s, so bisection converges.
+     */
+    private static double paretoScale(double a, double target, double h) {
+        if (target >= h) {
+            return h;
+        }
+        double low = 0.0;
+        double high = target;
+        for (int i = 0; i < 100; i++) {
+            double s = (low + high) / 2;
+            double mean = Math.abs(a - 1.0) < 1e-12
+                    ? s + s * Math.log(h / s)
+                    : s + Math.pow(s, a) * (Math.pow(h, 1.0 - a) - Math.pow(s, 1.0 - a)) / (1.0 - a);
+            if (mean < target) {
+                low = s;
+            } else {
+                high = s;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    public static ScalableGraphGenerator chains(int n, int chainLength, long seed) {
+        if (chainLength < 1) {
+            throw new IllegalArgumentException("Chain length must be positive");
+        }
+        ScalableGraphGenerator generator = new ScalableGraphGenerator(Topology.CHAIN, n, 1.0, seed);
+        generator.chainLength = chainLength;
+        return generator;
+    }
+
+    /**
+     * Sets the inclusive range of the integer edge weights (default 1..20).
+     */
+    public ScalableGraphGenerator setWeightRange(int minWeight, int maxWeight) {
+        if (minWeight > maxWeight) {
+            throw new IllegalArgumentException("Minimum weight exceeds maximum weight");
+        }
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+        return this;
+    }
+
+    /**
+     * Sets the number of generator threads. The output does not depend on it.
+     */
+    public ScalableGraphGenerator setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    public CSRGraph generate() {
+        if (topology == Topology.PLANTED_SCC) {
+            plantComponents();
+        }
+
+        int blockCount = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        Block[] blocks = new Block[blockCount];
+        runParallel(blockCount, b -> blocks[b] = generateBlock(b));
+
+        // Concatenate the blocks: offsets by prefix sum, edge arrays by parallel copy
+        int[] offsets = new int[n + 1];
+        int[] blockEdgeStart = new int[blockCount + 1];
+        for (int b = 0; b < blockCount; b++) {
+            long total = (long) blockEdgeStart[b] + blocks[b].size;
+            if (total > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Generated graph exceeds the CSR edge limit");
+            }
+            blockEdgeStart[b + 1] = (int) total;
+        }
+        int[] targets = new int[blockEdgeStart[blockCount]];
+        double[] weights = new double[blockEdgeStart[blockCount]];
+
+        runParallel(blockCount, b -> {
+            Block block = blocks[b];
+            int first = b * BLOCK_SIZE;
+            int edge = blockEdgeStart[b];
+            for (int i = 0; i < block.degree.length; i++) {
+                edge += block.degree[i];
+                offsets[first + i + 1] = edge;
+            }
+            System.arraycopy(block.targets, 0, targets, blockEdgeStart[b], block.size);
+            System.arraycopy(block.weights, 0, weights, blockEdgeStart[b], block.size);
+            blocks[b] = null;
+        });
+
+        return new CSRGraph(n, offsets, targets, weights);
+    }
+
+    /**
+     * Generates the graph straight into a file, .bin as a {@link BinaryGraphFile}
+     * and anything else as JSON. Blocks are produced in parallel a wave at a
+     * time and written in vertex order, so only one wave is held in memory.
+     * Returns the number of edges written.
+     */
+    public long write(Path path, int source, String weightModel) throws IOException {
+        if (path.toString().endsWith(".bin")) {
+            try (BinaryGraphFile.StreamWriter writer = BinaryGraphFile.openWriter(path, n, true, source, weightModel)) {
+                forEachBlock((first, block) ->
+                        writer.append(block.degree, block.degree.length, block.targets, block.weights));
+                return writer.edgeCount();
+            }
+        }
+        try (JsonGenerator json = new JsonFactory().createGenerator(path.toFile(), JsonEncoding.UTF8)) {
+            writeJsonHeader(json, n, source, weightModel);
+            long[] edges = new long[1];
+            forEachBlock((first, block) -> {
+                int e = 0;
+                for (int i = 0; i < block.degree.length; i++) {
+                    for (int end = e + block.degree[i]; e < end; e++) {
+                        writeJsonEdge(json, first + i, block.targets[e], block.weights[e]);
+                    }
+                }
+                edges[0] += e;
+            });
+            json.writeEndArray();
+            json.writeEndObject();
+            return edges[0];
+        }
+    }
+
+    private interface BlockConsumer {
+        void accept(int firstVertex, Block block) throws IOException;
+    }
+
+    private void forEachBlock(BlockConsumer consumer) throws IOException {
+        if (topology == Topology.PLANTED_SCC) {
+            plantComponents();
+        }
+        int blockCount = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int wave = 4 * threads;
+        for (int from = 0; from < blockCount; from += wave) {
+            int base = from;
+            Block[] blocks = new Block[Math.min(wave, blockCount - from)];
+            runParallel(blocks.length, i -> blocks[i] = generateBlock(base + i));
+            for (int i = 0; i < blocks.length; i++) {
+                consumer.accept((base + i) * BLOCK_SIZE, blocks[i]);
+                blocks[i] = null;
+            }
+        }
+    }
+
+    private void runParallel(int tasks, java.util.function.IntConsumer task) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(task)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Generated edges of one block of consecutive vertices.
+     */
+    private static final class Block {
+        final int[] degree;
+        int[] targets;
+        double[] weights;
+        int size;
+
+        Block(int vertices, int expectedEdges) {
+            degree = new int[vertices];
+            targets = new int[Math.max(expectedEdges, 16)];
+            weights = new double[targets.length];
+        }
+
+        void ensureCapacity(int extra) {
+            if (size + extra > targets.length) {
+                int capacity = Math.max(size + extra, targets.length + (targets.length >> 1));
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+        }
+    }
+
+    private Block generateBlock(int b) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + b);
+        int first = b * BLOCK_SIZE;
+        int last = Math.min(n, first + BLOCK_SIZE);
+        Block block = new Block(last - first, (int) Math.min((last - first) * (averageDegree + 1), 1 << 26));
+
+        for (int u = first; u < last; u++) {
+            int start = block.size;
+            drawTargets(u, random, block);
+
+            // Deduplicate this vertex's targets and drop self-loops
+            Arrays.sort(block.targets, start, block.size);
+            int end = start;
+            for (int e = start; e < block.size; e++) {
+                int v = block.targets[e];
+                if (v != u && (end == start || block.targets[end - 1] != v)) {
+                    block.targets[end++] = v;
+                }
+            }
+            block.size = end;
+
+            for (int e = start; e < end; e++) {
+                block.weights[e] = minWeight + random.nextInt(maxWeight - minWeight + 1);
+            }
+            block.degree[u - first] = end - start;
+        }
+        return block;
+    }
+
+    private void drawTargets(int u, SplittableRandom random, Block block) {
+        switch (topology) {
+            case UNIFORM: {
+                int degree = drawDegree(random);
+                block.ensureCapacity(degree);
+                for (int i = 0; i < degree; i++) {
+                    boolean backward = random.nextDouble() < backEdgeProbability;
+                    if (backward && u > 0) {
+                        block.targets[block.size++] = random.nextInt(u);
+                    } else if (u + 1 < n) {
+                        block.targets[block.size++] = u + 1 + random.nextInt(n - u - 1);
+                    }
+                }
+                break;
+            }
+            case LAYERED_DAG: {
+                int layer = (int) ((long) u * layers / n);
+                if (layer + 1 >= layers) {
+                    break;
+                }
+                int nextStart = layerStart(layer + 1);
+                int nextEnd = layerStart(layer + 2);
+                int degree = drawDegree(random);
+                block.ensureCapacity(degree);
+                for (int i = 0; i < degree; i++) {
+                    block.targets[block.size++] = nextStart + random.nextInt(nextEnd - nextStart);
+                }
+                break;
+            }
+            case PLANTED_SCC: {
+                int component = componentOf[u];
+                int start = componentStart[component];
+                int end = componentStart[component + 1];
+                int size = end - start;
+                int degree = drawDegree(random);
+                block.ensureCapacity(degree);
+                int i = 0;
+                if (size > 1 && degree > 0) {
+                    // Ring edge: keeps the planted component strongly connected
+                    block.targets[block.size++] = u + 1 < end ? u + 1 : start;
+                    i++;
+                }
+                for (; i < degree; i++) {
+                    // Half the extra edges stay inside, half go to later components;
+                    // a singleton has no inside, so all its edges go forward
+                    if (end < n && (size == 1 || random.nextBoolean())) {
+                        block.targets[block.size++] = end + random.nextInt(n - end);
+                    } else if (size > 1) {
+                        int v = start + random.nextInt(size - 1); // any member but u
+                        block.targets[block.size++] = v < u ? v : v + 1;
+                    }
+                }
+                break;
+            }
+            case POWER_LAW: {
+                // Capped Pareto, rounded up with probability equal to the fraction to keep the mean
+                double draw = Math.min(paretoScale * Math.pow(1.0 - random.nextDouble(), -1.0 / (exponent - 1.0)), n - 1);
+                int degree = (int) draw;
+                if (random.nextDouble() < draw - degree) {
+                    degree++;
+                }
+                block.ensureCapacity(degree);
+                for (int i = 0; i < degree; i++) {
+                    block.targets[block.size++] = random.nextInt(n);
+                }
+                break;
+            }
+            case CHAIN:
+            default:
+                if (u + 1 < n && (u + 1) % chainLength != 0) {
+                    block.ensureCapacity(1);
+                    block.targets[block.size++] = u + 1;
+                }
+                break;
+        }
+    }
+
+    /**
+     * Draws a degree whose mean is averageDegree: the integer part plus one
+     * more edge with probability equal to the fractional part.
+     */
+    private int drawDegree(SplittableRandom random) {
+        int whole = (int) averageDegree;
+        return whole + (random.nextDouble() < averageDegree - whole ? 1 : 0);
+    }
+
+    private int layerStart(int layer) {
+        // Smallest u with u * layers / n >= layer
+        return (int) (((long) layer * n + layers - 1) / layers);
+    }
+
+    /**
+     * Splits the vertex range into consecutive components with power-law sizes.
+     */
+    private void plantComponents() {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] starts = new int[16];
+        int count = 0;
+        int next = 0;
+        while (next < n) {
+            if (count + 1 >= starts.length) {
+                starts = Arrays.copyOf(starts, starts.length * 2);
+            }
+            starts[count++] = next;
+            next += Math.min(drawComponentSize(random), n - next);
+        }
+        starts[count] = n;
+        componentStart = Arrays.copyOf(starts, count + 1);
+
+        componentOf = new int[n];
+        for (int c = 0; c < count; c++) {
+            Arrays.fill(componentOf, componentStart[c], componentStart[c + 1], c);
+        }
+    }
+
+    private int drawComponentSize(SplittableRandom random) {
+        if (exponent == 0.0) {
+            return 1 + random.nextInt(maxComponentSize);
+        }
+        // Inverse-transform sampling of a continuous power law on [1, maxComponentSize + 1)
+        double a = 1.0 - exponent;
+        double u = random.nextDouble();
+        double x = exponent == 1.0
+                ? Math.exp(u * Math.log(maxComponentSize + 1.0))
+                : Math.pow(1.0 + u * (Math.pow(maxComponentSize + 1.0, a) - 1.0), 1.0 / a);
+        return Math.max(1, Math.min(maxComponentSize, (int) x));
+    }
+
+    /**
+     * Streams the graph to a compact JSON file in the format read by
+     * {@link graph.GraphLoader}, without building a tree of nodes.
+     */
+    public static void writeJson(CSRGraph graph, int source, String weightModel, Path path) throws IOException {
+        try (JsonGenerator json = new JsonFactory().createGenerator(path.toFile(), JsonEncoding.UTF8)) {
+            writeJsonHeader(json, graph.n, source, weightModel);
+            for (int u = 0; u < graph.n; u++) {
+                for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+                    writeJsonEdge(json, u, graph.targets[e], graph.weights[e]);
+                }
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private static void writeJsonHeader(JsonGenerator json, int n, int source, String weightModel) throws IOException {
+        json.writeStartObject();
+        json.writeBooleanField("directed", true);
+        json.writeNumberField("n", n);
+        json.writeNumberField("source", source);
+        json.writeStringField("weight_model", weightModel);
+        json.writeArrayFieldStart("edges");
+    }
+
+    private static void writeJsonEdge(JsonGenerator json, int u, int v, double w) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("u", u);
+        json.writeNumberField("v", v);
+        json.writeNumberField("w", w);
+        json.writeEndObject();
+    }
+
+    /**
+     * Usage: {@code <uniform|layered|planted|powerlaw|chain> <n> <averageDegree> <output.json|output.bin> [seed]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: ScalableGraphGenerator <uniform|layered|planted|powerlaw|chain> "
+                    + "<n> <averageDegree> <output.json|output.bin> [seed]");
+            System.exit(1);
+        }
+        int n = Integer.parseInt(args[1]);
+        double degree = Double.parseDouble(args[2]);
+        Path output = Path.of(args[3]);
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42L;
+
+        ScalableGraphGenerator generator;
+        switch (args[0]) {
+            case "uniform":
+                generator = uniform(n, degree, 0.1, seed);
+                break;
+            case "layered":
+                generator = layeredDag(n, Math.max(1, (int) Math.sqrt(n)), degree, seed);
+                break;
+            case "planted":
+                generator = plantedScc(n, 1000, 2.0, degree, seed);
+                break;
+            case "powerlaw":
+                generator = powerLaw(n, degree, 2.5, seed);
+                break;
+            case "chain":
+                generator = chains(n, Math.max(1, n / 100), seed);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown topology: " + args[0]);
+        }
+
+        long start = System.nanoTime();
+        long edges = generator.write(output, 0, "edge");
+        long written = System.nanoTime();
+
+        System.out.printf("Generated %d vertices and %d edges into %s in %d ms%n",
+                n, edges, output, (written - start) / 1_000_000);
+    }
+}
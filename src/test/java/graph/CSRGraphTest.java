@@ -0,0 +1,107 @@
+package graph;
+
+import graph.dagsp.DAGSP;
+import graph.dagsp.ShortestPathResult;
+import graph.scc.SCC;
+import graph.scc.SCCResult;
+import graph.topo.TopologicalSort;
+import graph.topo.TopologicalSortResult;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSRGraphTest {
+
+    @Test
+    public void testFromGraphKeepsEdges() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1, 2.5);
+        graph.addEdge(0, 2, 4.0);
+        graph.addEdge(1, 2, 1.0);
+
+        CSRGraph csr = CSRGraph.fromGraph(graph);
+
+        assertEquals(3, csr.n);
+        assertEquals(3, csr.edgeCount());
+        assertEquals(2, csr.outDegree(0));
+        assertEquals(0, csr.outDegree(2));
+        assertEquals(1, csr.targets[csr.offsets[0]]);
+        assertEquals(4.0, csr.weights[csr.offsets[0] + 1]);
+        assertEquals(3, csr.toGraph().getAllEdges().size());
+    }
+
+    @Test
+    public void testCSRAlgorithmsMatchAdjacencyList() {
+        // Cycle 0->1->2->0 feeding the chain 3->4->5
+        Graph graph = new Graph(6, true);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 2.0);
+        graph.addEdge(2, 0, 3.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(3, 4, 4.0);
+        graph.addEdge(4, 5, 5.0);
+        CSRGraph csr = CSRGraph.fromGraph(graph);
+
+        SCCResult expected = SCC.computeSCC(graph);
+        SCCResult actual = SCC.computeSCC(csr, new Metrics());
+        assertEquals(expected.getComponentCount(), actual.getComponentCount());
+        assertEquals(expected.components, actual.components);
+        assertArrayEquals(expected.componentId, actual.componentId);
+        assertEquals(expected.condensationGraph.getAllEdges().size(),
+                actual.condensationGraph.getAllEdges().size());
+
+        CSRGraph condensation = CSRGraph.fromGraph(actual.condensationGraph);
+        TopologicalSortResult topo = TopologicalSort.sortDAG(condensation, new Metrics());
+        assertTrue(topo.isValid(condensation.n));
+
+        int source = actual.componentId[0];
+        ShortestPathResult listPaths = DAGSP.longestPath(expected.condensationGraph, source, new Metrics());
+        ShortestPathResult csrPaths = DAGSP.longestPath(condensation, source, new Metrics());
+        assertArrayEquals(listPaths.distances, csrPaths.distances, 0.001);
+    }
+
+    @Test
+    public void testCSRTopologicalSortStopsOnCycle() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 1);
+
+        TopologicalSortResult result = TopologicalSort.sortDAG(CSRGraph.fromGraph(graph), new Metrics());
+
+        assertFalse(result.isValid(3));
+        assertEquals(1, result.order.size());
+    }
+
+    @Test
+    public void testIncomingIndexIsCachedAndMatchesTranspose() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(0, 3, 2.0);
+        graph.addEdge(2, 1, 3.0);
+        graph.addEdge(3, 1, 4.0);
+        CSRGraph csr = CSRGraph.fromGraph(graph);
+
+        InEdgeIndex incoming = csr.incoming();
+        assertSame(incoming, csr.incoming());
+        // Indexing the adjacency lists directly gives the same layout
+        InEdgeIndex direct = graph.incoming();
+        assertArrayEquals(incoming.offsets, direct.offsets);
+        assertArrayEquals(incoming.sources, direct.sources);
+        assertArrayEquals(incoming.edgeIds, direct.edgeIds);
+        assertArrayEquals(csr.offsets, direct.outOffsets);
+        assertEquals(3, csr.inDegree(1));
+        assertEquals(0, csr.inDegree(0));
+
+        CSRGraph transpose = csr.transpose();
+        for (int v = 0; v < csr.n; v++) {
+            assertEquals(transpose.outDegree(v), incoming.inDegree(v));
+            InEdgeIndex.Range predecessors = csr.getIncoming(v);
+            for (int i = 0; i < predecessors.size(); i++) {
+                int e = predecessors.edgeId(i);
+                assertEquals(v, csr.targets[e]);
+                assertEquals(predecessors.source(i), transpose.targets[predecessors.start + i]);
+                assertEquals(csr.weights[e], transpose.weights[predecessors.start + i]);
+            }
+        }
+    }
+}
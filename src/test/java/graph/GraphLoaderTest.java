@@ -0,0 +1,144 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class GraphLoaderTest {
+
+    @Test
+    public void testStreamingLoaderMatchesObjectMapper() throws IOException {
+        String file = "data/tasks.json";
+        Graph expected = GraphLoader.loadFromJson(file);
+        GraphData metadata = GraphLoader.loadGraphData(file);
+
+        LoadedGraph loaded = GraphLoader.loadStreaming(file);
+
+        assertEquals(expected.n, loaded.graph.n);
+        assertEquals(expected.getAllEdges().size(), loaded.graph.edgeCount());
+        assertEquals(metadata.source, loaded.source);
+        assertEquals(metadata.weightModel, loaded.weightModel);
+        assertEquals(metadata.directed, loaded.directed);
+        for (int u = 0; u < expected.n; u++) {
+            assertEquals(expected.getEdges(u).size(), loaded.graph.outDegree(u));
+            for (int i = 0; i < expected.getEdges(u).size(); i++) {
+                int e = loaded.graph.offsets[u] + i;
+                assertEquals(expected.getEdges(u).get(i).v, loaded.graph.targets[e]);
+                assertEquals(expected.getEdges(u).get(i).w, loaded.graph.weights[e]);
+            }
+        }
+    }
+
+    @Test
+    public void testStreamingLoaderAcceptsAnyFieldOrder(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("reordered.json");
+        Files.writeString(file, "{\"edges\": [{\"w\": 2.5, \"v\": 2, \"u\": 0}, {\"u\": 2, \"v\": 1, \"w\": 1}],"
+                + " \"extra\": {\"ignored\": [1, 2]}, \"source\": 2, \"n\": 3}");
+
+        LoadedGraph loaded = GraphLoader.loadStreaming(file.toString());
+
+        assertEquals(3, loaded.graph.n);
+        assertEquals(2, loaded.graph.edgeCount());
+        assertEquals(2, loaded.source);
+        assertEquals(2, loaded.graph.targets[loaded.graph.offsets[0]]);
+        assertEquals(2.5, loaded.graph.weights[loaded.graph.offsets[0]]);
+    }
+
+    @Test
+    public void testStreamingLoaderRejectsOutOfRangeEdge(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("bad.json");
+        Files.writeString(file, "{\"n\": 2, \"edges\": [{\"u\": 0, \"v\": 5, \"w\": 1}]}");
+
+        assertThrows(IllegalArgumentException.class, () -> GraphLoader.loadStreaming(file.toString()));
+    }
+
+    @Test
+    public void testStreamingLoaderRejectsMalformedEdges(@TempDir Path dir) throws IOException {
+        Path arrays = dir.resolve("arrays.json");
+        Files.writeString(arrays, "{\"n\": 2, \"edges\": [[0, 1, 2]], \"source\": 1}");
+        Path mixed = dir.resolve("mixed.json");
+        Files.writeString(mixed, "{\"n\": 2, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 1}, 1]}");
+        Path missing = dir.resolve("missing.json");
+        Files.writeString(missing, "{\"n\": 2, \"edges\": [{\"u\": 0, \"w\": 1}]}");
+
+        for (Path file : new Path[]{arrays, mixed, missing}) {
+            assertThrows(IOException.class, () -> GraphLoader.loadStreaming(file.toString()), file.toString());
+        }
+    }
+
+    @Test
+    public void testBinaryFileRoundTrip(@TempDir Path dir) throws IOException {
+        LoadedGraph original = GraphLoader.loadStreaming("data/small_mixed.json");
+        Path file = dir.resolve("small_mixed.bin");
+
+        BinaryGraphFile.write(original, file);
+        MappedGraph mapped = BinaryGraphFile.map(file);
+
+        assertEquals(original.graph.n, mapped.n);
+        assertEquals(original.graph.edgeCount(), mapped.edgeCount());
+        assertEquals(original.source, mapped.source);
+        assertEquals(original.weightModel, mapped.weightModel);
+        assertTrue(mapped.directed);
+        for (int u = 0; u < mapped.n; u++) {
+            assertEquals(original.graph.outDegree(u), mapped.outDegree(u));
+            for (int e = mapped.edgeStart(u); e < mapped.edgeEnd(u); e++) {
+                assertEquals(original.graph.targets[e], mapped.target(e));
+                assertEquals(original.graph.weights[e], mapped.weight(e));
+            }
+        }
+
+        CSRGraph copy = GraphLoader.load(file.toString()).graph;
+        assertArrayEquals(original.graph.offsets, copy.offsets);
+        assertArrayEquals(original.graph.targets, copy.targets);
+        assertArrayEquals(original.graph.weights, copy.weights);
+    }
+
+    @Test
+    public void testBinaryFileMapsSectionsInChunks(@TempDir Path dir) throws IOException {
+        LoadedGraph original = GraphLoader.loadStreaming("data/small_mixed.json");
+        Path file = dir.resolve("chunked.bin");
+        BinaryGraphFile.write(original, file);
+
+        // 4 ints / 2 doubles per chunk: every section spans many mappings
+        MappedGraph mapped = BinaryGraphFile.map(file, 2);
+        for (int e = 0; e < mapped.edgeCount(); e++) {
+            assertEquals(original.graph.targets[e], mapped.target(e));
+            assertEquals(original.graph.weights[e], mapped.weight(e));
+        }
+        CSRGraph copy = mapped.toCSR();
+        assertArrayEquals(original.graph.offsets, copy.offsets);
+        assertArrayEquals(original.graph.targets, copy.targets);
+        assertArrayEquals(original.graph.weights, copy.weights);
+    }
+
+    @Test
+    public void testBinaryFileRejectsCorruptHeader(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("graph.bin");
+        BinaryGraphFile.write(GraphLoader.loadStreaming("data/small_mixed.json"), file);
+        byte[] valid = Files.readAllBytes(file);
+
+        int[][] corruptions = {{12, -1}, {16, -5}, {24, -1}, {16, 3}}; // n, m, model length, m != offsets[n]
+        for (int[] corruption : corruptions) {
+            byte[] bytes = valid.clone();
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(corruption[0], corruption[1]);
+            Path corrupt = dir.resolve("corrupt-" + corruption[0] + ".bin");
+            Files.write(corrupt, bytes);
+            IOException error = assertThrows(IOException.class, () -> BinaryGraphFile.map(corrupt));
+            assertTrue(error.getMessage().contains(corrupt.toString()));
+        }
+    }
+
+    @Test
+    public void testBinaryFileRejectsOtherFiles(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("not-a-graph.bin");
+        Files.writeString(file, "{\"n\": 1, \"edges\": [], \"padding\": true}");
+
+        assertThrows(IOException.class, () -> BinaryGraphFile.map(file));
+    }
+}
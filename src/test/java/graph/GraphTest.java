@@ -30,4 +30,35 @@ public class GraphTest {
         assertEquals(1, reversed.getEdges(1).size());
         assertEquals(0, reversed.getEdges(1).get(0).v); // Check reverse edge
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testIncomingEdges() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 2, 2.5);
+        graph.addEdge(1, 2, 1.0);
+
+        assertEquals(2, graph.inDegree(2));
+        assertEquals(0, graph.inDegree(0));
+        assertSame(graph.getEdges(0).get(0), graph.getIncoming(2).get(0)); // Shares the out-list edges
+        assertEquals(1, graph.getIncoming(2).get(1).u);
+        InEdgeIndex incoming = graph.incoming();
+        assertSame(incoming, graph.incoming());
+        // CSR copies of an unchanged graph share its index
+        assertSame(incoming, CSRGraph.fromGraphWithIncoming(graph).incoming());
+        assertSame(incoming, CSRGraph.fromGraph(graph).incoming());
+
+        graph.addEdge(2, 0, 4.0); // Invalidates the cached index
+        assertNotSame(incoming, graph.incoming());
+        assertEquals(1, graph.inDegree(0));
+        assertEquals(4.0, graph.getIncoming(0).get(0).w);
+    }
+
+    @Test
+    public void testAdjacencyIsReadOnly() {
+        Graph graph = new Graph(2, true);
+        graph.addEdge(0, 1, 1.0);
+        assertThrows(UnsupportedOperationException.class, () -> graph.adj.get(0).add(new Edge(0, 0, 1.0)));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getEdges(1).clear());
+        assertEquals(1, graph.inDegree(1));
+    }
+}
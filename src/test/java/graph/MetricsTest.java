@@ -0,0 +1,82 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    @Test
+    public void testCountersAreLongAndThreadSafe() throws InterruptedException {
+        Metrics metrics = new Metrics();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    metrics.addEdgeRelaxations(1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(4000, metrics.getEdgeRelaxations());
+
+        metrics.addDfsVisits(Integer.MAX_VALUE);
+        metrics.addDfsVisits(Integer.MAX_VALUE);
+        assertEquals(2L * Integer.MAX_VALUE, metrics.getDfsVisits(), "Counters must not overflow at 2^31");
+
+        metrics.reset();
+        assertEquals(0, metrics.getEdgeRelaxations());
+        assertEquals(0, metrics.getDfsVisits());
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 10_000; v++) {
+            histogram.record(v * 1000);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(1000, histogram.getMin());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_500, histogram.getMean(), 1e-6);
+
+        // Buckets are within about 3% of the recorded value
+        assertEquals(5_000_000, histogram.getValueAtPercentile(50), 5_000_000 * 0.035);
+        assertEquals(9_900_000, histogram.getValueAtPercentile(99), 9_900_000 * 0.035);
+        assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+
+        for (long v = 0; v < 1L << 40; v = v * 3 + 1) {
+            assertTrue(LatencyHistogram.upperBound(LatencyHistogram.bucketOf(v)) >= v);
+        }
+        assertTrue(LatencyHistogram.upperBound(LatencyHistogram.bucketOf(Long.MAX_VALUE)) == Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testTimersFeedHistograms() {
+        Metrics metrics = new Metrics();
+        for (int i = 0; i < 3; i++) {
+            metrics.startTimer();
+            metrics.stopTimer();
+            long start = metrics.startPhase();
+            metrics.endPhase("load", start);
+        }
+        assertEquals(3, metrics.getRunTimes().getCount());
+        assertEquals(3, metrics.getPhase("load").getCount());
+        assertTrue(metrics.getPhases().containsKey("load"));
+        assertNull(metrics.getPhase("missing"));
+    }
+
+    @Test
+    public void testNoOpRecordsNothing() {
+        Metrics metrics = Metrics.NOOP;
+        metrics.startTimer();
+        metrics.addQueueOperations(5);
+        metrics.endPhase("load", metrics.startPhase());
+        metrics.stopTimer();
+        assertEquals(0, metrics.getQueueOperations());
+        assertEquals(0, metrics.getRunTimes().getCount());
+        assertTrue(metrics.getPhases().isEmpty());
+    }
+}
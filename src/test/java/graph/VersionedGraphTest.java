@@ -0,0 +1,121 @@
+package graph;
+
+import graph.dagsp.DAGSP;
+import graph.dagsp.ShortestPathResult;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class VersionedGraphTest {
+
+    @Test
+    public void testPublishedVersionsAreIsolated() {
+        VersionedGraph graph = new VersionedGraph(5);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(3, 4, 1.0);
+        GraphSnapshot first = graph.publish();
+
+        graph.addEdge(0, 2, 5.0);
+        assertEquals(1, graph.pendingCount());
+        assertSame(first, graph.snapshot(), "Staged edges must not be visible before publish");
+
+        GraphSnapshot second = graph.publish();
+        assertEquals(first.version + 1, second.version);
+        assertEquals(2, first.edgeCount());
+        assertEquals(3, second.edgeCount());
+        assertEquals(1, first.outDegree(0));
+        assertEquals(2, second.outDegree(0));
+        assertEquals(2, second.target(0, 1));
+        assertEquals(5.0, second.weight(0, 1));
+        // The earlier version keeps its own arrays
+        assertNotSame(first.toCSR(), second.toCSR());
+        assertEquals(1, first.target(0, 0));
+        assertEquals(2, first.toCSR().edgeCount());
+    }
+
+    @Test
+    public void testSnapshotMatchesCSR() {
+        Random random = new Random(9);
+        int n = 3000;
+        Graph expected = new Graph(n, true);
+        VersionedGraph graph = new VersionedGraph(n);
+        for (int batch = 0; batch < 5; batch++) {
+            for (int i = 0; i < 2000; i++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                expected.addEdge(u, v, i);
+                graph.addEdge(u, v, i);
+            }
+            graph.publish();
+        }
+
+        CSRGraph reference = CSRGraph.fromGraph(expected);
+        CSRGraph actual = graph.snapshot().toCSR();
+        assertSame(actual, graph.snapshot().toCSR(), "CSR form should be built once per snapshot");
+        assertArrayEquals(reference.offsets, actual.offsets);
+        assertArrayEquals(reference.targets, actual.targets);
+        assertArrayEquals(reference.weights, actual.weights);
+    }
+
+    @Test
+    public void testPublishBuildsCSR() throws InterruptedException {
+        VersionedGraph graph = new VersionedGraph(4);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(1, 3, 1.0);
+        GraphSnapshot published = graph.publish();
+        // Built by publish, on the writer thread, before any reader asked for it
+        CSRGraph built = published.toCSR();
+        assertEquals(2, built.edgeCount());
+
+        AtomicReference<CSRGraph> seen = new AtomicReference<>();
+        Thread reader = new Thread(() -> seen.set(graph.snapshot().toCSR()));
+        reader.start();
+        reader.join();
+        assertSame(built, seen.get(), "Readers must not rebuild the CSR form");
+        assertSame(built, published.toCSR());
+    }
+
+    @Test
+    public void testReadersSeeConsistentVersionsDuringUpdates() throws InterruptedException {
+        int n = 2000;
+        VersionedGraph graph = new VersionedGraph(n);
+        for (int v = 0; v + 1 < n; v++) {
+            graph.addEdge(v, v + 1, 1.0);
+        }
+        graph.publish();
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            Random random = new Random(1);
+            for (int batch = 0; batch < 50; batch++) {
+                for (int i = 0; i < 500; i++) {
+                    int u = random.nextInt(n - 1);
+                    graph.addEdge(u, u + 1 + random.nextInt(n - 1 - u), 1.0);
+                }
+                graph.publish();
+            }
+        });
+        Thread reader = new Thread(() -> {
+            try {
+                for (int i = 0; i < 200; i++) {
+                    GraphSnapshot snapshot = graph.snapshot();
+                    int edges = snapshot.edgeCount();
+                    ShortestPathResult result = DAGSP.shortestPath(snapshot.toCSR(), 0, new Metrics());
+                    // Edges only go forward, so every vertex stays reachable within n - 1 steps
+                    assertTrue(result.getDistance(n - 1) <= n - 1);
+                    assertEquals(edges, snapshot.toCSR().edgeCount());
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+        assertNull(failure.get());
+        assertEquals(n - 1 + 50 * 500, graph.snapshot().edgeCount());
+    }
+}
@@ -1,11 +1,20 @@
 package graph.dagsp;
 
+import graph.CSRGraph;
 import graph.Graph;
 import graph.Metrics;
+import graph.scc.CondensationBuilder;
+import graph.scc.SCC;
+import graph.scc.SCCResult;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 public class DAGShortestPathTest {
 
@@ -103,5 +112,213 @@ public class DAGShortestPathTest {
         assertEquals(0.0, critical.length, 0.001);
         assertEquals(1, critical.path.size());
         assertEquals(0, critical.path.get(0));
+        assertTrue(critical.isCritical(0));
+
+        CriticalPathResult empty = DAGSP.findCriticalPath(new Graph(0, true), new Metrics());
+        assertFalse(empty.isCritical(0), "Results without slack data must not throw");
+    }
+
+    @Test
+    public void testCriticalPathSlack() {
+        // Two start tasks: 0->2 (4) and 1->2 (1), then 2->3 (2)
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 2, 4.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(2, 3, 2.0);
+
+        CriticalPathResult result = DAGSP.findCriticalPath(graph, new Metrics());
+
+        assertEquals(6.0, result.length, 0.001);
+        assertEquals(List.of(0, 2, 3), result.path);
+        assertArrayEquals(new double[]{0.0, 0.0, 4.0, 6.0}, result.earliestStart, 0.001);
+        assertArrayEquals(new double[]{0.0, 3.0, 4.0, 6.0}, result.latestStart, 0.001);
+        assertEquals(3.0, result.slack[1], 0.001);
+        assertTrue(result.isCritical(0));
+        assertFalse(result.isCritical(1));
+        assertTrue(result.isCritical(2));
+    }
+
+    @Test
+    public void testPreparedDagAnswersRepeatedQueries() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(0, 2, 1.0);
+        graph.addEdge(1, 3, 3.0);
+        graph.addEdge(2, 3, 5.0);
+
+        PreparedDag prepared = DAGSP.prepare(graph, new Metrics());
+        for (int source = 0; source < graph.n; source++) {
+            ShortestPathResult expectedShortest = DAGSP.shortestPath(graph, source, new Metrics());
+            ShortestPathResult expectedLongest = DAGSP.longestPath(graph, source, new Metrics());
+            assertArrayEquals(expectedShortest.distances, prepared.shortestPath(source).distances, 0.001);
+            assertArrayEquals(expectedLongest.distances, prepared.longestPath(source).distances, 0.001);
+        }
+
+        double[] dist = new double[graph.n];
+        int[] pred = new int[graph.n];
+        prepared.computePaths(1, false, dist, pred);
+        assertEquals(Double.POSITIVE_INFINITY, dist[0]);
+        assertEquals(3.0, dist[3], 0.001);
+        assertEquals(1, pred[3]);
+    }
+
+    @Test
+    public void testIncrementalCriticalPathMatchesEngine() {
+        Random random = new Random(3);
+        int n = 150;
+        Graph dag = new Graph(n, true);
+        for (int i = 0; i < 4 * n; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u < v) {
+                dag.addEdge(u, v, 1 + random.nextInt(10));
+            }
+        }
+        IncrementalCriticalPath incremental = new IncrementalCriticalPath(dag, new Metrics());
+        int m = incremental.toCSRGraph().edgeCount();
+
+        for (int step = 0; step < 300; step++) {
+            incremental.setWeight(random.nextInt(m), random.nextInt(20));
+
+            CriticalPathResult expected = new CriticalPathEngine(incremental.toCSRGraph(), new Metrics()).compute();
+            CriticalPathResult actual = incremental.toResult();
+            assertEquals(expected.length, actual.length, 1e-9);
+            assertArrayEquals(expected.earliestStart, actual.earliestStart, 1e-9);
+            assertArrayEquals(expected.latestStart, actual.latestStart, 1e-9);
+            assertArrayEquals(expected.slack, actual.slack, 1e-9);
+
+            // The reported path must be made of critical vertices and sum to the length
+            CSRGraph current = incremental.toCSRGraph();
+            double total = 0;
+            for (int i = 0; i + 1 < actual.path.size(); i++) {
+                int u = actual.path.get(i);
+                int v = actual.path.get(i + 1);
+                double best = Double.NEGATIVE_INFINITY;
+                for (int e = current.offsets[u]; e < current.offsets[u + 1]; e++) {
+                    if (current.targets[e] == v) {
+                        best = Math.max(best, current.weights[e]);
+                    }
+                }
+                total += best;
+                assertTrue(actual.isCritical(u));
+            }
+            assertEquals(actual.length, total, 1e-9);
+        }
+    }
+
+    @Test
+    public void testMultiSourceMatchesSingleSource() {
+        Random random = new Random(21);
+        int n = 400;
+        Graph dag = new Graph(n, true);
+        for (int i = 0; i < 3 * n; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u < v) {
+                dag.addEdge(u, v, random.nextInt(10));
+            }
+        }
+        PreparedDag prepared = DAGSP.prepare(dag, new Metrics());
+        int[] sources = new int[37]; // not a multiple of the block size
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = random.nextInt(n);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            DistanceMatrix sequential = new MultiSourceDAGPaths(prepared, new Metrics()).shortestPaths(sources);
+            DistanceMatrix parallel = new MultiSourceDAGPaths(prepared, new Metrics(), 4, pool).longestPaths(sources);
+            for (int i = 0; i < sources.length; i++) {
+                assertArrayEquals(prepared.shortestPath(sources[i]).distances, sequential.getRow(i));
+                assertArrayEquals(prepared.longestPath(sources[i]).distances, parallel.getRow(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(sources.length, DAGSP.shortestPaths(CSRGraph.fromGraph(dag), sources, new Metrics()).toArray().length);
+    }
+
+    @Test
+    public void testAllPairsAnalysis(@TempDir Path dir) throws IOException {
+        Random random = new Random(8);
+        int n = 130; // more than two bitset words per row
+        Graph dag = new Graph(n, true);
+        for (int i = 0; i < 2 * n; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u < v) {
+                dag.addEdge(u, v, 1 + random.nextInt(5));
+            }
+        }
+        CSRGraph csr = CSRGraph.fromGraph(dag);
+        PreparedDag prepared = new PreparedDag(csr, new Metrics());
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            AllPairsAnalysis inMemory = new AllPairsAnalysis(prepared, new Metrics(), pool, Long.MAX_VALUE);
+            TransitiveClosure closure = inMemory.reachability();
+            DistanceMatrix longest = inMemory.longestPaths();
+            for (int u = 0; u < n; u++) {
+                double[] expected = prepared.longestPath(u).distances;
+                assertArrayEquals(expected, longest.getRow(u));
+                for (int v = 0; v < n; v++) {
+                    assertEquals(expected[v] != Double.NEGATIVE_INFINITY, closure.reaches(u, v));
+                }
+                assertEquals(closure.reachableCount(u), closure.reachableFrom(u).length);
+            }
+
+            // A budget of ten rows forces chunked streaming to disk
+            AllPairsAnalysis bounded = new AllPairsAnalysis(prepared, new Metrics(), pool, 10L * n * Double.BYTES);
+            assertFalse(bounded.fitsInMemory());
+            assertThrows(IllegalArgumentException.class, bounded::longestPaths);
+            Path file = dir.resolve("longest.bin");
+            bounded.writeLongestPaths(file);
+            for (int u = 0; u < n; u += 17) {
+                assertArrayEquals(longest.getRow(u), AllPairsAnalysis.readRow(file, n, u));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testNodeWeightedCriticalPath() {
+        // 0 -> 1 -> 3 and 0 -> 2 -> 3; node 2 is slow enough to take over
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 3.0);
+        graph.addEdge(0, 2, 1.0);
+        graph.addEdge(1, 3, 3.0);
+        graph.addEdge(2, 3, 1.0);
+        double[] nodeWeights = {1.0, 0.0, 6.0, 2.0};
+
+        CriticalPathResult result = DAGSP.findCriticalPath(graph, nodeWeights, new Metrics());
+        assertEquals(11.0, result.length, 0.001); // 1 + 1 + 6 + 1 + 2
+        assertEquals(List.of(0, 2, 3), result.path);
+        assertEquals(9.0, result.earliestStart[3], 0.001);
+        assertEquals(0.0, result.slack[2], 0.001);
+        assertEquals(2.0, result.slack[1], 0.001);
+
+        ShortestPathResult longest = new DAGShortestPath(graph, new Metrics()).longestPath(0, nodeWeights);
+        assertEquals(11.0, longest.getDistance(3), 0.001);
+        assertEquals(result.length,
+                DAGSP.findCriticalPath(CSRGraph.fromGraph(graph), nodeWeights, new Metrics()).length, 0.001);
+    }
+
+    @Test
+    public void testCondensationCriticalPathCountsCycles() {
+        // A 3-task cycle (total 9) feeding one more task
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(1, 2, 3.0);
+        graph.addEdge(2, 0, 4.0);
+        graph.addEdge(2, 3, 1.0);
+
+        SCCResult plain = SCC.computeSCC(graph);
+        assertEquals(1.0, DAGSP.findCriticalPath(plain, new Metrics()).length, 0.001);
+
+        SCCResult weighted = SCC.computeSCC(graph, new Metrics(), SCC.Algorithm.TARJAN,
+                new CondensationBuilder(CondensationBuilder.EdgeMerge.MAX,
+                        CondensationBuilder.ComponentCost.SUM));
+        assertEquals(10.0, DAGSP.findCriticalPath(weighted, new Metrics()).length, 0.001);
     }
-}
\ No newline at end of file
+}
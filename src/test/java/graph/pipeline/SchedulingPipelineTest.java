@@ -0,0 +1,75 @@
+package graph.pipeline;
+
+import graph.CSRGraph;
+import graph.Graph;
+import graph.Metrics;
+import graph.dagsp.CriticalPathResult;
+import graph.dagsp.DAGSP;
+import graph.dagsp.ShortestPathResult;
+import graph.scc.SCC;
+import graph.scc.SCCResult;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+public class SchedulingPipelineTest {
+
+    @Test
+    public void testPipelineMatchesSeparateStages() {
+        Random random = new Random(4);
+        int n = 500;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < 3 * n; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u < v || random.nextInt(8) == 0) {
+                graph.addEdge(u, v, 1 + random.nextInt(9));
+            }
+        }
+        CSRGraph csr = CSRGraph.fromGraph(graph);
+
+        Metrics metrics = new Metrics();
+        PipelineResult result = new SchedulingPipeline(csr, metrics).run(0);
+
+        SCCResult scc = SCC.computeSCC(csr, new Metrics());
+        assertEquals(scc.getComponentCount(), result.componentCount);
+        assertArrayEquals(scc.componentId, result.componentId);
+        assertEquals(scc.condensationGraph.getAllEdges().size(), result.condensation.edgeCount());
+
+        // Component order must be topological and task order must follow it
+        int[] position = new int[result.componentCount];
+        for (int i = 0; i < result.componentOrder.length; i++) {
+            position[result.componentOrder[i]] = i;
+        }
+        for (int u = 0; u < result.condensation.n; u++) {
+            for (int e = result.condensation.offsets[u]; e < result.condensation.offsets[u + 1]; e++) {
+                assertTrue(position[u] < position[result.condensation.targets[e]]);
+            }
+        }
+        assertEquals(n, result.taskOrder.length);
+        for (int i = 1; i < n; i++) {
+            int previous = position[result.componentId[result.taskOrder[i - 1]]];
+            assertTrue(previous <= position[result.componentId[result.taskOrder[i]]]);
+        }
+        for (int c = 0; c < result.componentCount; c++) {
+            assertEquals(scc.components.get(c).size(), result.getComponentSize(c));
+            for (int v : result.getComponent(c)) {
+                assertEquals(c, result.componentId[v]);
+            }
+        }
+
+        ShortestPathResult expectedPaths = DAGSP.shortestPath(scc.condensationGraph, scc.componentId[0], new Metrics());
+        assertArrayEquals(expectedPaths.distances, result.shortestPaths.distances);
+        CriticalPathResult expectedCritical = DAGSP.findCriticalPath(scc.condensationGraph, new Metrics());
+        assertEquals(expectedCritical.length, result.criticalPath.length, 1e-9);
+        assertArrayEquals(expectedCritical.slack, result.criticalPath.slack, 1e-9);
+
+        assertEquals(Arrays.asList(SchedulingPipeline.STAGE_SCC, SchedulingPipeline.STAGE_CONDENSATION,
+                SchedulingPipeline.STAGE_TOPOLOGICAL_ORDER, SchedulingPipeline.STAGE_SHORTEST_PATHS,
+                SchedulingPipeline.STAGE_CRITICAL_PATH), new ArrayList<>(result.getStageTimes().keySet()));
+        assertEquals(1, metrics.getPhase(SchedulingPipeline.STAGE_SCC).getCount());
+    }
+}
@@ -1,10 +1,13 @@
 package graph.scc;
 
+import graph.CSRGraph;
 import graph.Graph;
 import graph.Metrics;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Random;
+
 public class TarjanSCCTest {
 
     @Test
@@ -84,4 +87,216 @@ public class TarjanSCCTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testIterativeTarjanMatchesRecursive() {
+        Graph graph = new Graph(6, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 0);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 4);
+        graph.addEdge(4, 3);
+        graph.addEdge(4, 5);
+
+        SCCResult recursive = SCC.computeSCC(graph, new Metrics(), SCC.Algorithm.TARJAN);
+        SCCResult iterative = SCC.computeSCC(graph, new Metrics(), SCC.Algorithm.ITERATIVE_TARJAN);
+
+        assertEquals(recursive.components, iterative.components);
+        assertArrayEquals(recursive.componentId, iterative.componentId);
+    }
+
+    @Test
+    public void testIterativeTarjanHandlesDeepChain() {
+        // A 300k-long chain closed into one cycle would overflow the recursive version
+        int n = 300_000;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(i, i + 1);
+        }
+        graph.addEdge(n - 1, 0);
+
+        SCCResult result = SCC.computeSCC(graph, new Metrics(), SCC.Algorithm.ITERATIVE_TARJAN);
+
+        assertEquals(1, result.getComponentCount());
+        assertEquals(n, result.components.get(0).size());
+    }
+
+    @Test
+    public void testCondensationEdgeMerge() {
+        // Two edges from the cycle {0,1} into vertex 2, with weights 4 and 7
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 0, 1.0);
+        graph.addEdge(0, 2, 4.0);
+        graph.addEdge(1, 2, 7.0);
+
+        double[] expected = {4.0, 4.0, 7.0, 11.0};
+        CondensationBuilder.EdgeMerge[] merges = {
+                CondensationBuilder.EdgeMerge.FIRST, CondensationBuilder.EdgeMerge.MIN,
+                CondensationBuilder.EdgeMerge.MAX, CondensationBuilder.EdgeMerge.SUM
+        };
+        for (SCC.Algorithm algorithm : SCC.Algorithm.values()) {
+            for (int i = 0; i < merges.length; i++) {
+                SCCResult result = SCC.computeSCC(graph, new Metrics(), algorithm,
+                        new CondensationBuilder(merges[i]));
+
+                java.util.List<graph.Edge> edges = result.condensationGraph.getAllEdges();
+                assertEquals(1, edges.size(), "Parallel edges should collapse into one");
+                assertEquals(expected[i], edges.get(0).w, 0.001, merges[i] + " with " + algorithm);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelSCCMatchesTarjan() {
+        // Random graph with planted cycles, large enough to exercise trimming and splitting
+        Random random = new Random(7);
+        int n = 4000;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < 3 * n; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            // Mostly forward edges, with a few back edges closing cycles
+            if (u < v || random.nextInt(10) == 0) {
+                graph.addEdge(u, v);
+            }
+        }
+        CSRGraph csr = CSRGraph.fromGraph(graph);
+
+        SCCResult expected = SCC.computeSCC(graph);
+        SCCResult actual = new ParallelSCC(csr, new Metrics(), 4, 64, CondensationBuilder.DEFAULT).findSCCs();
+
+        assertEquals(expected.getComponentCount(), actual.getComponentCount());
+        assertEquals(expected.condensationGraph.getAllEdges().size(),
+                actual.condensationGraph.getAllEdges().size());
+        for (int u = 0; u < n; u++) {
+            for (graph.Edge edge : graph.getEdges(u)) {
+                boolean sameExpected = expected.componentId[u] == expected.componentId[edge.v];
+                boolean sameActual = actual.componentId[u] == actual.componentId[edge.v];
+                assertEquals(sameExpected, sameActual);
+            }
+        }
+        int[] sizes = expected.getComponentSizes().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int[] parallelSizes = actual.getComponentSizes().stream().mapToInt(Integer::intValue).sorted().toArray();
+        assertArrayEquals(sizes, parallelSizes);
+    }
+
+    @Test
+    public void testIncrementalSCCMatchesRecomputation() {
+        Random random = new Random(11);
+        int n = 300;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < n; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u < v) {
+                graph.addEdge(u, v);
+            }
+        }
+        IncrementalSCC incremental = new IncrementalSCC(graph);
+
+        for (int step = 0; step < 600; step++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            graph.addEdge(u, v);
+            incremental.addEdge(u, v);
+
+            if (step % 50 == 49) {
+                SCCResult expected = SCC.computeSCC(graph);
+                SCCResult actual = incremental.toSCCResult();
+                assertEquals(expected.getComponentCount(), incremental.getComponentCount());
+                assertEquals(expected.getComponentCount(), actual.getComponentCount());
+                assertEquals(expected.condensationGraph.getAllEdges().size(),
+                        actual.condensationGraph.getAllEdges().size());
+                for (int a = 0; a < n; a++) {
+                    int b = (a * 31 + step) % n;
+                    assertEquals(expected.componentId[a] == expected.componentId[b],
+                            incremental.stronglyConnected(a, b));
+                }
+                // Snapshot numbering is reverse topological, like Tarjan's
+                for (graph.Edge edge : actual.condensationGraph.getAllEdges()) {
+                    assertTrue(edge.u > edge.v);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIncrementalSCCMergesOnBackEdge() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        IncrementalSCC incremental = new IncrementalSCC(graph);
+        assertEquals(4, incremental.getComponentCount());
+
+        assertFalse(incremental.addEdge(0, 3), "Forward edge must not merge");
+        assertTrue(incremental.addEdge(2, 1));
+        assertEquals(3, incremental.getComponentCount());
+        assertTrue(incremental.stronglyConnected(1, 2));
+
+        assertTrue(incremental.addEdge(3, 0));
+        assertEquals(1, incremental.getComponentCount());
+        assertEquals(4, incremental.getMembers(incremental.componentOf(0)).length);
+    }
+
+    @Test
+    public void testIncrementalSCCAdjacencyStaysBounded() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1, 2.0);
+        IncrementalSCC incremental = new IncrementalSCC(SCC.computeSCC(graph),
+                CondensationBuilder.EdgeMerge.SUM);
+
+        for (int i = 0; i < 1000; i++) {
+            incremental.addEdge(0, 1, 1.0);
+            incremental.addEdge(1, 2, 1.0);
+        }
+        assertTrue(incremental.adjacencySize(incremental.componentOf(1)) <= 8,
+                "Repeated insertions must be compacted");
+        SCCResult snapshot = incremental.toSCCResult();
+        assertEquals(2, snapshot.condensationGraph.getAllEdges().size());
+        for (graph.Edge edge : snapshot.condensationGraph.getAllEdges()) {
+            double expected = snapshot.components.get(edge.u).contains(0) ? 1002.0 : 1000.0;
+            assertEquals(expected, edge.w, 0.001);
+        }
+
+        // After the merge, edges between the former components are internal
+        assertTrue(incremental.addEdge(2, 0));
+        assertEquals(1, incremental.getComponentCount());
+        assertEquals(0, incremental.adjacencySize(incremental.componentOf(0)));
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(incremental.addEdge(0, 1));
+        }
+        assertEquals(0, incremental.adjacencySize(incremental.componentOf(0)));
+    }
+
+    @Test
+    public void testComponentCosts() {
+        // Cycle 0->1->2->0 with weights 2, 3, 4, then 2->3 leaves it
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(1, 2, 3.0);
+        graph.addEdge(2, 0, 4.0);
+        graph.addEdge(2, 3, 1.0);
+
+        SCCResult none = SCC.computeSCC(graph);
+        assertArrayEquals(new double[none.getComponentCount()], none.componentCost);
+
+        CondensationBuilder sum = new CondensationBuilder(CondensationBuilder.EdgeMerge.MAX,
+                CondensationBuilder.ComponentCost.SUM);
+        CondensationBuilder maxPath = new CondensationBuilder(CondensationBuilder.EdgeMerge.MAX,
+                CondensationBuilder.ComponentCost.MAX_PATH);
+        for (SCC.Algorithm algorithm : SCC.Algorithm.values()) {
+            SCCResult summed = SCC.computeSCC(graph, new Metrics(), algorithm, sum);
+            assertEquals(9.0, summed.componentCost[summed.componentId[0]], 0.001);
+            assertEquals(0.0, summed.componentCost[summed.componentId[3]], 0.001);
+
+            // Dropping one edge of the cycle leaves a path over the other two
+            SCCResult path = SCC.computeSCC(graph, new Metrics(), algorithm, maxPath);
+            double cost = path.componentCost[path.componentId[0]];
+            assertTrue(cost >= 5.0 && cost <= 7.0, "Unexpected max-path cost " + cost);
+            assertEquals(0.0, path.componentCost[path.componentId[3]], 0.001);
+        }
+    }
+}
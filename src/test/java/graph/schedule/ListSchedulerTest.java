@@ -0,0 +1,83 @@
+package graph.schedule;
+
+import graph.CSRGraph;
+import graph.Graph;
+import graph.Metrics;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+public class ListSchedulerTest {
+
+    @Test
+    public void testScheduleRespectsPrecedenceAndCrews() {
+        Random random = new Random(6);
+        int n = 2000;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i < 3 * n; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u < v) {
+                graph.addEdge(u, v);
+            }
+        }
+        CSRGraph dag = CSRGraph.fromGraph(graph);
+        double[] durations = new double[n];
+        for (int v = 0; v < n; v++) {
+            durations[v] = random.nextInt(10);
+        }
+
+        int crews = 7;
+        ListScheduler scheduler = new ListScheduler(dag, durations, crews, new Metrics());
+        ScheduleResult result = scheduler.schedule();
+
+        for (int u = 0; u < n; u++) {
+            assertEquals(result.start[u] + durations[u], result.finish[u]);
+            for (int e = dag.offsets[u]; e < dag.offsets[u + 1]; e++) {
+                assertTrue(result.start[dag.targets[e]] >= result.finish[u], "Task started before its predecessor");
+            }
+        }
+        for (int c = 0; c < crews; c++) {
+            List<Integer> tasks = result.getCrewTasks(c);
+            for (int i = 1; i < tasks.size(); i++) {
+                assertTrue(result.start[tasks.get(i)] >= result.finish[tasks.get(i - 1)], "Crew runs two tasks at once");
+            }
+        }
+
+        double criticalPath = 0;
+        double total = 0;
+        for (double level : scheduler.bottomLevels()) {
+            criticalPath = Math.max(criticalPath, level);
+        }
+        for (double duration : durations) {
+            total += duration;
+        }
+        assertTrue(result.makespan >= criticalPath - 1e-9);
+        assertTrue(result.makespan >= total / crews - 1e-9);
+        // Graham's bound for any list schedule
+        assertTrue(result.makespan <= total / crews + criticalPath + 1e-9);
+    }
+
+    @Test
+    public void testSingleCrewRunsTasksBackToBack() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 2);
+        graph.addEdge(2, 3);
+        double[] durations = {1, 4, 2, 3};
+        ScheduleResult result = new ListScheduler(CSRGraph.fromGraph(graph), durations, 1, new Metrics()).schedule();
+
+        assertEquals(10, result.makespan);
+        // Task 2 leads the longer chain (2 + 3 > 4), so it goes before task 1
+        assertTrue(result.start[2] < result.start[1]);
+        assertEquals(1.0, result.getUtilization(), 1e-9);
+    }
+
+    @Test
+    public void testComponentDurations() {
+        double[] durations = ListScheduler.componentDurations(new int[]{1, 0, 1}, 2, new double[]{2, 3, 4});
+        assertArrayEquals(new double[]{3, 6}, durations);
+    }
+}
@@ -1,10 +1,17 @@
 package graph.topo;
 
+import graph.CSRGraph;
 import graph.Graph;
 import graph.Metrics;
+import graph.scc.SCC;
+import graph.scc.SCCResult;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
 public class TopologicalSortTest {
 
     @Test
@@ -49,4 +56,195 @@ public class TopologicalSortTest {
         assertTrue(result.isValid(graph.n), "Topological sort should include all vertices");
         assertEquals(5, result.order.size());
     }
+
+    @Test
+    public void testArrayAccessorsMatchListViews() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(3, 1);
+        graph.addEdge(1, 0);
+        graph.addEdge(2, 0);
+
+        TopologicalSortResult result = TopologicalSort.sortDAG(graph, new Metrics());
+
+        int[] order = result.getOrderArray();
+        assertEquals(4, order.length);
+        for (int i = 0; i < order.length; i++) {
+            assertEquals(order[i], result.order.get(i));
+        }
+        assertArrayEquals(order, result.getTaskOrderArray());
+        assertThrows(UnsupportedOperationException.class, () -> result.order.add(5));
+    }
+
+    @Test
+    public void testCondensationTaskOrderCoversAllTasks() {
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 0);
+        graph.addEdge(1, 2);
+        graph.addEdge(3, 4);
+
+        SCCResult scc = SCC.computeSCC(graph);
+        TopologicalSortResult result = TopologicalSort.sortCondensationGraph(scc, new Metrics());
+
+        assertEquals(scc.getComponentCount(), result.getOrderArray().length);
+        assertEquals(5, result.getTaskOrderArray().length);
+        assertTrue(result.taskOrder.indexOf(0) < result.taskOrder.indexOf(2));
+        assertTrue(result.taskOrder.indexOf(3) < result.taskOrder.indexOf(4));
+    }
+
+    @Test
+    public void testParallelSortAssignsLevels() {
+        // 0 and 1 start together, 2 needs both, 3 needs only 0, 4 needs 2 and 3
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 2);
+        graph.addEdge(1, 2);
+        graph.addEdge(0, 3);
+        graph.addEdge(2, 4);
+        graph.addEdge(3, 4);
+
+        LevelTopologicalSortResult result = TopologicalSort.sortByLevels(graph, new Metrics());
+
+        assertTrue(result.isValid(5));
+        assertEquals(3, result.getLevelCount());
+        assertArrayEquals(new int[]{0, 0, 1, 1, 2}, result.level);
+        assertArrayEquals(new int[]{0, 1}, result.getLevelVertices(0));
+        assertArrayEquals(new int[]{2, 3}, result.getLevelVertices(1));
+    }
+
+    @Test
+    public void testParallelSortMatchesKahnOnWideGraph() {
+        // Wide layered DAG large enough to split every level across tasks
+        int width = 5000;
+        int layers = 4;
+        Graph graph = new Graph(width * layers, true);
+        for (int l = 0; l + 1 < layers; l++) {
+            for (int i = 0; i < width; i++) {
+                graph.addEdge(l * width + i, (l + 1) * width + (i * 7) % width);
+                graph.addEdge(l * width + i, (l + 1) * width + (i * 13 + 1) % width);
+            }
+        }
+
+        LevelTopologicalSortResult result = TopologicalSort.sortByLevels(graph, new Metrics());
+
+        assertTrue(result.isValid(graph.n));
+        for (int u = 0; u < graph.n; u++) {
+            for (graph.Edge edge : graph.getEdges(u)) {
+                assertTrue(result.level[u] < result.level[edge.v]);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelSortLeavesCycleUnordered() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 1);
+        graph.addEdge(2, 3);
+
+        LevelTopologicalSortResult result = TopologicalSort.sortByLevels(graph, new Metrics());
+
+        assertFalse(result.isValid(4));
+        assertEquals(-1, result.level[3]);
+    }
+
+    @Test
+    public void testDynamicOrderStaysTopological() {
+        Random random = new Random(5);
+        int n = 200;
+        Graph graph = new Graph(n, true);
+        DynamicTopologicalOrder dynamic = new DynamicTopologicalOrder(graph);
+
+        int accepted = 0;
+        for (int step = 0; step < 2000; step++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (dynamic.addEdge(u, v)) {
+                graph.addEdge(u, v);
+                accepted++;
+            } else {
+                // The reported cycle must consist of existing edges plus u -> v
+                List<Integer> cycle = dynamic.getLastCycle();
+                assertEquals(u, (int) cycle.get(0));
+                assertEquals(u, (int) cycle.get(cycle.size() - 1));
+                assertEquals(v, (int) cycle.get(1));
+                for (int i = 1; i + 1 < cycle.size(); i++) {
+                    int from = cycle.get(i);
+                    int to = cycle.get(i + 1);
+                    assertTrue(graph.getEdges(from).stream().anyMatch(edge -> edge.v == to));
+                }
+            }
+        }
+        assertTrue(accepted > 0);
+
+        int[] order = dynamic.getOrder();
+        assertEquals(n, order.length);
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, dynamic.positionOf(order[i]));
+        }
+        for (graph.Edge edge : graph.getAllEdges()) {
+            assertTrue(dynamic.positionOf(edge.u) < dynamic.positionOf(edge.v));
+        }
+    }
+
+    @Test
+    public void testDynamicOrderRejectsCyclicSeed() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 0);
+        assertThrows(IllegalArgumentException.class, () -> new DynamicTopologicalOrder(graph));
+    }
+
+    @Test
+    public void testGreedyFasOrdersCyclicComponent() {
+        // A long chain with forward chords, closed into one SCC by a single back edge,
+        // under shuffled labels so the SCC algorithm's own order is arbitrary
+        Random random = new Random(12);
+        int n = 3000;
+        int[] label = new int[n];
+        for (int i = 0; i < n; i++) {
+            label[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = label[i];
+            label[i] = label[j];
+            label[j] = t;
+        }
+        Graph graph = new Graph(n + 1, true);
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(label[i], label[i + 1]);
+            int j = i + 2 + random.nextInt(10);
+            if (j < n) {
+                graph.addEdge(label[i], label[j]);
+            }
+        }
+        graph.addEdge(label[n - 1], label[0]);
+        graph.addEdge(label[n - 1], n); // plus a separate downstream task
+
+        SCCResult scc = SCC.computeSCC(graph);
+        TopologicalSortResult asIs = TopologicalSort.sortCondensationGraph(scc, graph, ComponentOrdering.AS_IS, new Metrics());
+        TopologicalSortResult greedy = TopologicalSort.sortCondensationGraph(scc, graph, ComponentOrdering.GREEDY_FAS, new Metrics());
+
+        assertEquals(asIs.getOrderArray().length, greedy.getOrderArray().length);
+        int[] tasks = greedy.getTaskOrderArray();
+        assertEquals(n + 1, tasks.length);
+        assertEquals(n, tasks[n], "The downstream task must come after the cycle");
+        boolean[] seen = new boolean[n + 1];
+        for (int v : tasks) {
+            assertFalse(seen[v]);
+            seen[v] = true;
+        }
+
+        ComponentGraph view = new ComponentGraph(CSRGraph.fromGraph(graph), scc.componentId);
+        int big = scc.componentId[label[0]];
+        int[] asIsCycle = Arrays.stream(asIs.getTaskOrderArray()).filter(v -> scc.componentId[v] == big).toArray();
+        int[] greedyCycle = Arrays.copyOf(tasks, n);
+        // The optimum breaks one edge; the heuristic should stay close to it and far below Tarjan's pop order
+        int broken = view.backEdges(greedyCycle);
+        assertTrue(broken >= 1);
+        assertTrue(broken <= 60, "Greedy FAS broke " + broken + " dependencies");
+        assertTrue(view.backEdges(asIsCycle) > 10 * broken);
+    }
 }
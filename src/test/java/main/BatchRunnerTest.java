@@ -0,0 +1,84 @@
+package main;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+public class BatchRunnerTest {
+
+    @Test
+    public void testBatchWritesOneLinePerGraph(@TempDir Path dir) throws Exception {
+        // A 3-cycle feeding one more task, and a plain chain
+        Files.writeString(dir.resolve("cycle.json"), "{\"directed\": true, \"n\": 4, \"source\": 0, \"edges\": ["
+                + "{\"u\": 0, \"v\": 1, \"w\": 1}, {\"u\": 1, \"v\": 2, \"w\": 1},"
+                + " {\"u\": 2, \"v\": 0, \"w\": 1}, {\"u\": 2, \"v\": 3, \"w\": 5}]}");
+        Files.writeString(dir.resolve("chain.json"), "{\"directed\": true, \"n\": 3, \"source\": 0, \"edges\": ["
+                + "{\"u\": 0, \"v\": 1, \"w\": 2}, {\"u\": 1, \"v\": 2, \"w\": 3}]}");
+        Files.writeString(dir.resolve("broken.json"), "{\"n\": ");
+        Files.writeString(dir.resolve("notes.txt"), "not a graph");
+
+        List<Path> files = BatchRunner.listInputs(dir);
+        assertEquals(3, files.size());
+
+        StringWriter out = new StringWriter();
+        int failures = new BatchRunner(2, 2, 1).run(files, out);
+        assertEquals(1, failures);
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> byFile = new HashMap<>();
+        for (String line : out.toString().split("\n")) {
+            JsonNode node = mapper.readTree(line);
+            byFile.put(Path.of(node.get("file").asText()).getFileName().toString(), node);
+        }
+        assertEquals(3, byFile.size());
+
+        JsonNode cycle = byFile.get("cycle.json");
+        assertEquals(2, cycle.get("componentCount").asInt());
+        assertEquals(4, cycle.get("taskOrder").size());
+        assertEquals(5.0, cycle.get("criticalPath").get("length").asDouble(), 0.001);
+        assertTrue(cycle.get("metrics").get("stageNanos").has("scc"));
+
+        JsonNode chain = byFile.get("chain.json");
+        assertEquals(3, chain.get("componentCount").asInt());
+        assertEquals(5.0, chain.get("criticalPath").get("length").asDouble(), 0.001);
+
+        assertTrue(byFile.get("broken.json").has("error"));
+    }
+
+    @Test
+    public void testErrorsDoNotStallTheBatch(@TempDir Path dir) throws Exception {
+        // Allocating arrays for this many vertices fails with OutOfMemoryError, not an exception
+        Files.writeString(dir.resolve("huge.json"), "{\"directed\": true, \"n\": 2147483646, \"edges\": []}");
+        Files.writeString(dir.resolve("small.json"), "{\"directed\": true, \"n\": 2, \"edges\": ["
+                + "{\"u\": 0, \"v\": 1, \"w\": 1}]}");
+
+        StringWriter out = new StringWriter();
+        int failures = assertTimeoutPreemptively(java.time.Duration.ofSeconds(30),
+                () -> new BatchRunner(1, 1, 1).run(BatchRunner.listInputs(dir), out));
+
+        assertEquals(1, failures);
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        JsonNode huge = new ObjectMapper().readTree(lines[0]);
+        assertTrue(huge.get("file").asText().endsWith("huge.json"));
+        assertTrue(huge.get("error").asText().startsWith("OutOfMemoryError"), huge.get("error").asText());
+    }
+
+    @Test
+    public void testManifestPathsAreRelativeToManifest(@TempDir Path dir) throws Exception {
+        Files.createDirectory(dir.resolve("district"));
+        Files.writeString(dir.resolve("manifest.txt"), "# nightly run\ndistrict/a.json\n\ndistrict/b.bin\n");
+
+        List<Path> files = BatchRunner.listInputs(dir.resolve("manifest.txt"));
+
+        assertEquals(List.of(dir.resolve("district/a.json").toAbsolutePath(),
+                dir.resolve("district/b.bin").toAbsolutePath()), files);
+    }
+}
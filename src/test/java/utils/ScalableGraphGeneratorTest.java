@@ -0,0 +1,116 @@
+package utils;
+
+import graph.CSRGraph;
+import graph.GraphLoader;
+import graph.LoadedGraph;
+import graph.Metrics;
+import graph.scc.SCC;
+import graph.scc.SCCResult;
+import graph.topo.TopologicalSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+public class ScalableGraphGeneratorTest {
+
+    @Test
+    public void testOutputDoesNotDependOnThreadCount() {
+        CSRGraph single = ScalableGraphGenerator.uniform(100_000, 3.0, 0.1, 11L).setThreads(1).generate();
+        CSRGraph parallel = ScalableGraphGenerator.uniform(100_000, 3.0, 0.1, 11L).setThreads(4).generate();
+
+        assertArrayEquals(single.offsets, parallel.offsets);
+        assertArrayEquals(single.targets, parallel.targets);
+        assertArrayEquals(single.weights, parallel.weights);
+    }
+
+    @Test
+    public void testEdgesAreDeduplicatedWithoutSelfLoops() {
+        CSRGraph graph = ScalableGraphGenerator.powerLaw(5_000, 4.0, 2.2, 3L).generate();
+
+        for (int u = 0; u < graph.n; u++) {
+            for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+                assertNotEquals(u, graph.targets[e]);
+                if (e > graph.offsets[u]) {
+                    assertTrue(graph.targets[e - 1] < graph.targets[e]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLayeredDagAndChainsAreAcyclic() {
+        CSRGraph layered = ScalableGraphGenerator.layeredDag(20_000, 50, 4.0, 5L).generate();
+        CSRGraph chains = ScalableGraphGenerator.chains(20_000, 1_000, 5L).generate();
+
+        assertTrue(TopologicalSort.sortDAG(layered, new Metrics()).isValid(layered.n));
+        assertTrue(TopologicalSort.sortDAG(chains, new Metrics()).isValid(chains.n));
+        assertEquals(20_000 - 20, chains.edgeCount());
+    }
+
+    @Test
+    public void testPlantedComponentsAreRecovered() {
+        CSRGraph graph = ScalableGraphGenerator.plantedScc(20_000, 200, 1.5, 3.0, 9L).generate();
+
+        SCCResult result = SCC.computeSCC(graph, new Metrics());
+
+        // Planted components are consecutive vertex ranges of at most 200 vertices
+        for (List<Integer> component : result.components) {
+            int min = Collections.min(component);
+            int max = Collections.max(component);
+            assertEquals(component.size(), max - min + 1);
+            assertTrue(component.size() <= 200);
+        }
+        assertTrue(result.getComponentCount() < graph.n);
+        assertTrue(TopologicalSort.sortDAG(result.condensationGraph, new Metrics()).isValid(result.getComponentCount()));
+    }
+
+    @Test
+    public void testJsonOutputLoadsBack(@TempDir Path dir) throws IOException {
+        CSRGraph graph = ScalableGraphGenerator.uniform(1_000, 2.0, 0.2, 1L).generate();
+        Path file = dir.resolve("uniform.json");
+
+        ScalableGraphGenerator.writeJson(graph, 0, "edge", file);
+        LoadedGraph loaded = GraphLoader.loadStreaming(file.toString());
+
+        assertArrayEquals(graph.offsets, loaded.graph.offsets);
+        assertArrayEquals(graph.targets, loaded.graph.targets);
+        assertArrayEquals(graph.weights, loaded.graph.weights);
+    }
+
+    @Test
+    public void testStreamedFilesMatchInMemoryGraph(@TempDir Path dir) throws IOException {
+        // More than one wave of blocks on two threads
+        ScalableGraphGenerator generator = ScalableGraphGenerator.plantedScc(200_000, 50, 1.5, 3.0, 4L).setThreads(2);
+        CSRGraph expected = generator.generate();
+
+        for (String name : new String[]{"planted.bin", "planted.json"}) {
+            Path file = dir.resolve(name);
+            assertEquals(expected.edgeCount(), generator.write(file, 0, "edge"));
+            CSRGraph loaded = GraphLoader.load(file.toString()).graph;
+            assertArrayEquals(expected.offsets, loaded.offsets, name);
+            assertArrayEquals(expected.targets, loaded.targets, name);
+            assertArrayEquals(expected.weights, loaded.weights, name);
+        }
+        assertEquals(1, Files.list(dir).filter(f -> f.toString().endsWith(".bin")).count());
+        assertFalse(Files.exists(dir.resolve("planted.bin.weights.tmp")));
+    }
+
+    @Test
+    public void testAverageDegreeIsMet() {
+        int n = 100_000;
+        CSRGraph dag = ScalableGraphGenerator.plantedScc(n, 1, 0.0, 4.0, 6L).generate();
+        CSRGraph heavyTail = ScalableGraphGenerator.powerLaw(n, 4.0, 1.8, 6L).generate();
+        CSRGraph moderate = ScalableGraphGenerator.powerLaw(n, 4.0, 2.5, 6L).generate();
+
+        assertEquals(4.0, (double) dag.edgeCount() / n, 0.1);
+        assertEquals(4.0, (double) moderate.edgeCount() / n, 0.2);
+        // A few huge degrees lose edges to deduplication, hence the wider band
+        assertEquals(4.0, (double) heavyTail.edgeCount() / n, 0.6);
+    }
+}